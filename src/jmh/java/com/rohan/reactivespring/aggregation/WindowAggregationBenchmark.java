@@ -0,0 +1,132 @@
+package com.rohan.reactivespring.aggregation;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per key one minute tumbling counts over 1M distinct keys, once with the compact long[] accumulator and once with
+ * an accumulator buffering the events like Flux.window / buffer would.
+ * Aux counters report the event rate and the retained heap per open key right before the windows fire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class WindowAggregationBenchmark {
+
+    record Event(Long key, long at) {
+    }
+
+    @Param({"1000000"})
+    public int keys;
+
+    @Param({"4000000"})
+    public int events;
+
+    @Param({"counting", "buffering"})
+    public String state;
+
+    private Event[] input;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public double eventsPerSecond;
+        public double bytesPerKey;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            eventsPerSecond = 0;
+            bytesPerKey = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Long[] keyValues = new Long[keys];
+        for (int i = 0; i < keys; i++) {
+            keyValues[i] = (long) i;
+        }
+        // All events fall into the same one minute window, every key has one open window at the end
+        input = new Event[events];
+        for (int i = 0; i < events; i++) {
+            input[i] = new Event(keyValues[i % keys], i * 60_000L / events);
+        }
+    }
+
+    @Benchmark
+    public void aggregate(Footprint footprint) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        long[] elapsed = new long[1];
+        Mono<Void> measure = Mono.fromRunnable(() -> {
+            elapsed[0] = System.nanoTime() - elapsed[0];
+            System.gc();
+            footprint.bytesPerKey = (double) (memory.getHeapMemoryUsage().getUsed() - baseline) / keys;
+        });
+
+        elapsed[0] = System.nanoTime();
+        Flux<Event> source = Flux.fromArray(input).concatWith(measure.then(Mono.<Event>empty()));
+        long fired = aggregation().aggregate(source).count().block();
+
+        if (fired != keys) {
+            throw new IllegalStateException("expected " + keys + " windows but got " + fired);
+        }
+        footprint.eventsPerSecond = events / (elapsed[0] / 1e9);
+    }
+
+    private WindowAggregation<Event, Long, ?, ?> aggregation() {
+        WindowSpec window = WindowSpec.tumbling(Duration.ofMinutes(1));
+        if (state.equals("counting")) {
+            return WindowAggregation.of(window, Event::key, Event::at, Aggregators.counting());
+        }
+        return WindowAggregation.of(window, Event::key, Event::at, new Aggregator<Event, List<Event>, Integer>() {
+            @Override
+            public List<Event> create() {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public List<Event> add(List<Event> accumulator, Event event) {
+                accumulator.add(event);
+                return accumulator;
+            }
+
+            @Override
+            public List<Event> merge(List<Event> left, List<Event> right) {
+                left.addAll(right);
+                return left;
+            }
+
+            @Override
+            public Integer result(List<Event> accumulator) {
+                return accumulator.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.rohan.reactivespring.bench;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfig;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Embedded mongod for benchmarks, started on a free port. Close it from a @TearDown(Level.Trial).
+ */
+public final class EmbeddedMongo implements AutoCloseable {
+
+    private final MongodExecutable executable;
+    private final MongoClient client;
+
+    private EmbeddedMongo(MongodExecutable executable, MongoClient client) {
+        this.executable = executable;
+        this.client = client;
+    }
+
+    public static EmbeddedMongo start() throws IOException {
+        return start(settings -> {
+        });
+    }
+
+    // The customizer can e.g. add a CommandListener to count round trips
+    public static EmbeddedMongo start(Consumer<MongoClientSettings.Builder> customizer) throws IOException {
+        int port = Network.getFreeServerPort();
+        MongodConfig config = MongodConfig.builder()
+                .version(Version.Main.PRODUCTION)
+                .net(new Net(port, Network.localhostIsIPv6()))
+                .build();
+
+        MongodExecutable executable = MongodStarter.getDefaultInstance().prepare(config);
+        executable.start();
+
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString("mongodb://localhost:" + port));
+        customizer.accept(settings);
+        return new EmbeddedMongo(executable, MongoClients.create(settings.build()));
+    }
+
+    public MongoClient client() {
+        return client;
+    }
+
+    public ReactiveMongoTemplate template(String database) {
+        return new ReactiveMongoTemplate(client, database);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executable.stop();
+    }
+}
@@ -0,0 +1,91 @@
+package com.rohan.reactivespring.cache;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 10k concurrent lookups spread over 100 keys against a backend taking 5ms, starting from a cold cache.
+ * Aux counters report how often the backend was called and the p99 latency of a single lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SingleFlightCacheBenchmark {
+
+    private static final Duration BACKEND_LATENCY = Duration.ofMillis(5);
+
+    @Param({"10000"})
+    public int requests;
+
+    @Param({"100"})
+    public int keys;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Lookups {
+
+        public long backendCalls;
+        public double p99Micros;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            backendCalls = 0;
+            p99Micros = 0;
+        }
+    }
+
+    @Benchmark
+    public void concurrentLookups(Lookups lookups) {
+        AtomicLong backendCalls = new AtomicLong();
+        Function<Integer, Mono<String>> backend = key -> Mono.delay(BACKEND_LATENCY)
+                .doOnSubscribe(s -> backendCalls.incrementAndGet())
+                .thenReturn("value-" + key);
+
+        Function<Integer, Mono<String>> lookup;
+        if (cached) {
+            SingleFlightCache<Integer, String> cache = new SingleFlightCache<>(backend, CacheSpec.builder().build());
+            lookup = cache::get;
+        } else {
+            lookup = backend;
+        }
+
+        long[] latencies = new long[requests];
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return lookup.apply(i % keys)
+                            .doOnNext(v -> latencies[i] = System.nanoTime() - start);
+                }, requests)
+                .blockLast();
+
+        Arrays.sort(latencies);
+        lookups.backendCalls += backendCalls.get();
+        lookups.p99Micros = Math.max(lookups.p99Micros,
+                TimeUnit.NANOSECONDS.toMicros(latencies[(int) (requests * 0.99)]));
+    }
+}
@@ -0,0 +1,125 @@
+package com.rohan.reactivespring.error;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One second worth of an error heavy pipeline at 100k errors/s: {@code errors} requests that all fail and get
+ * handled with onErrorResume. The score is the CPU time that takes, so anything close to 1000ms can't keep up with
+ * that rate on one core. allocatedBytes is what the run allocated on the benchmark thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ErrorModelBenchmark {
+
+    private static final ErrorSite SITE = ErrorSite.of("ErrorModelBenchmark.request");
+
+    public enum Model {
+        // new RuntimeException per error with Hooks.onOperatorDebug() for assembly context
+        DEBUG_HOOK,
+        // new RuntimeException per error with a light checkpoint() for assembly context
+        STACK_TRACE,
+        // new stackless exception per error with ErrorSite.mark()
+        STACKLESS,
+        // shared ErrorSite.overloaded() instance with ErrorSite.mark()
+        PREALLOCATED
+    }
+
+    @Param({"DEBUG_HOOK", "STACK_TRACE", "STACKLESS", "PREALLOCATED"})
+    public Model model;
+
+    @Param({"100000"})
+    public int errors;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Allocation {
+
+        private final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        public long allocatedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            allocatedBytes = 0;
+        }
+
+        long current() {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void installHook() {
+        if (model == Model.DEBUG_HOOK) {
+            Hooks.onOperatorDebug();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void resetHook() {
+        Hooks.resetOnOperatorDebug();
+    }
+
+    @Benchmark
+    public Long errorHeavyPipeline(Allocation allocation) {
+        long before = allocation.current();
+        Long handled = Flux.range(0, errors)
+                .concatMap(i -> request(i).onErrorResume(e -> Mono.just(-1)))
+                .count()
+                .block();
+        allocation.allocatedBytes += allocation.current() - before;
+        return handled;
+    }
+
+    // A few operators deep like a handler calling a repository, so stack traces have a realistic depth
+    private Mono<Integer> request(int i) {
+        Mono<Integer> call = Mono.just(i)
+                .map(v -> v + 1)
+                .filter(v -> v > 0)
+                .flatMap(v -> Mono.<Integer>error(error()));
+        switch (model) {
+            case DEBUG_HOOK:
+                return call;
+            case STACK_TRACE:
+                return call.checkpoint("ErrorModelBenchmark.request");
+            default:
+                return call.transform(SITE.mark());
+        }
+    }
+
+    private RuntimeException error() {
+        switch (model) {
+            case DEBUG_HOOK:
+            case STACK_TRACE:
+                return new IllegalStateException("Overloaded");
+            case STACKLESS:
+                return new OverloadedException(SITE.getLabel());
+            default:
+                return SITE.overloaded();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.rohan.reactivespring.fluxmonodemo;
+
+// Element shapes the pipelines are benchmarked with, a String payload vs a boxed Integer
+public enum ElementType {
+
+    STRING {
+        @Override
+        public Object element(int i) {
+            return "element-" + i;
+        }
+
+        @Override
+        public Object map(Object element) {
+            return ((String) element).toUpperCase();
+        }
+
+        @Override
+        public boolean filter(Object element) {
+            return ((String) element).length() % 2 == 0;
+        }
+    },
+
+    INTEGER {
+        @Override
+        public Object element(int i) {
+            return i; // boxed on purpose, this is what Flux<Integer> carries
+        }
+
+        @Override
+        public Object map(Object element) {
+            return (Integer) element + 1;
+        }
+
+        @Override
+        public boolean filter(Object element) {
+            return ((Integer) element) % 2 == 0;
+        }
+    };
+
+    public abstract Object element(int i);
+
+    public abstract Object map(Object element);
+
+    public abstract boolean filter(Object element);
+}
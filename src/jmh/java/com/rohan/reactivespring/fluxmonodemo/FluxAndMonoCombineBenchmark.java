@@ -0,0 +1,34 @@
+package com.rohan.reactivespring.fluxmonodemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks for the merge / concat / zip pipelines in FluxAndMonoCombineTest, both sides carry `size` elements
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FluxAndMonoCombineBenchmark {
+
+    @Benchmark
+    public void combineUsingMerge(PipelineState state, Blackhole bh) {
+        state.maybeLog(Flux.merge(state.source(), state.source()))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void combineUsingConcat(PipelineState state, Blackhole bh) {
+        state.maybeLog(Flux.concat(state.source(), state.source()))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void combineUsingZip(PipelineState state, Blackhole bh) {
+        state.maybeLog(Flux.zip(state.source(), state.source(), (t1, t2) -> t1))
+                .subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,49 @@
+package com.rohan.reactivespring.fluxmonodemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks for the error operators in FluxAndMonoErrorTest, every pipeline emits `size` elements and then fails
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FluxAndMonoErrorBenchmark {
+
+    @Benchmark
+    public void fluxErrorHandling_onErrorResume(PipelineState state, Blackhole bh) {
+        state.maybeLog(failing(state)
+                .onErrorResume(e -> Flux.just("default", "default1")))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void fluxErrorHandling_onErrorReturn(PipelineState state, Blackhole bh) {
+        state.maybeLog(failing(state)
+                .onErrorReturn("default"))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void fluxErrorHandling_onErrorMap(PipelineState state, Blackhole bh) {
+        state.maybeLog(failing(state)
+                .onErrorMap(RuntimeException::new))
+                .subscribe(bh::consume, bh::consume);
+    }
+
+    @Benchmark
+    public void fluxErrorHandling_withRetry(PipelineState state, Blackhole bh) {
+        state.maybeLog(failing(state)
+                .retry(2))
+                .subscribe(bh::consume, bh::consume);
+    }
+
+    private Flux<Object> failing(PipelineState state) {
+        return state.source()
+                .concatWith(Flux.error(new RuntimeException("Exception occurred")));
+    }
+}
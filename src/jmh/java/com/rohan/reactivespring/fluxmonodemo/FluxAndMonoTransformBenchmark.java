@@ -0,0 +1,30 @@
+package com.rohan.reactivespring.fluxmonodemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Benchmarks for the map / filter pipelines in FluxAndMonoTransformTest
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FluxAndMonoTransformBenchmark {
+
+    @Benchmark
+    public void transformUsingMap(PipelineState state, Blackhole bh) {
+        state.maybeLog(state.source()
+                .map(state.type::map))
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void transformUsingMap_Filter(PipelineState state, Blackhole bh) {
+        state.maybeLog(state.source()
+                .filter(state.type::filter)
+                .map(state.type::map))
+                .subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,47 @@
+package com.rohan.reactivespring.fluxmonodemo;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameters shared by the fluxmonodemo pipeline benchmarks.
+ * Source elements are built once per trial so element creation is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+public class PipelineState {
+
+    @Param({"1", "1000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"STRING", "INTEGER"})
+    public ElementType type;
+
+    @Param({"false", "true"})
+    public boolean log;
+
+    public List<Object> elements;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(type.element(i));
+        }
+    }
+
+    public Flux<Object> source() {
+        return Flux.fromIterable(elements);
+    }
+
+    // Same as calling .log() at the end of the pipeline like the tests do, but only when asked for
+    public <T> Flux<T> maybeLog(Flux<T> flux) {
+        return log ? flux.log() : flux;
+    }
+}
@@ -0,0 +1,52 @@
+package com.rohan.reactivespring.logging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1M element pipeline with no logging, plain .log() and SampledLog at a few sample rates.
+ * Score is pipelines/s, multiply by 1M for signals/s. Logging output goes to build/jmh-pipelines.log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SampledLogBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"100", "1000"})
+    public int sampleEvery;
+
+    @Benchmark
+    public void noLog(Blackhole bh) {
+        Flux.range(0, size)
+                .map(i -> i + 1)
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void plainLog(Blackhole bh) {
+        Flux.range(0, size)
+                .map(i -> i + 1)
+                .log()
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void sampledLog(Blackhole bh) {
+        Flux.range(0, size)
+                .map(i -> i + 1)
+                .transform(SampledLog.sampled("benchmark", sampleEvery))
+                .subscribe(bh::consume);
+    }
+}
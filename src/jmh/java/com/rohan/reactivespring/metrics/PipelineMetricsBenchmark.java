@@ -0,0 +1,49 @@
+package com.rohan.reactivespring.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of PipelineMetrics on a 1M signal pipeline, the instrumented score should stay within 5% of the plain one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PipelineMetricsBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private PipelineMetrics pipelineMetrics;
+
+    @Setup
+    public void setUp() {
+        pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void plain(Blackhole bh) {
+        Flux.range(0, size)
+                .map(i -> i + 1)
+                .subscribe(bh::consume);
+    }
+
+    @Benchmark
+    public void instrumented(Blackhole bh) {
+        Flux.range(0, size)
+                .map(i -> i + 1)
+                .transform(pipelineMetrics.instrument("benchmark"))
+                .subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,63 @@
+package com.rohan.reactivespring.numeric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed Flux<Integer> vs IntChunkFlux for the same map / filter / sum and windowed sum pipelines.
+ * Compare gc.alloc.rate.norm (bytes per pipeline) between the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NumericPipelineBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"1024"})
+    public int chunkSize;
+
+    @Benchmark
+    public Long boxedSum() {
+        return Flux.range(0, size)
+                .map(i -> i * 3)
+                .filter(i -> i % 2 == 0)
+                .reduce(0L, (acc, i) -> acc + i)
+                .block();
+    }
+
+    @Benchmark
+    public Long chunkedSum() {
+        return IntChunkFlux.range(0, size, chunkSize)
+                .map(i -> i * 3)
+                .filter(i -> i % 2 == 0)
+                .sum()
+                .block();
+    }
+
+    @Benchmark
+    public Integer boxedWindowSum() {
+        return Flux.range(0, size)
+                .buffer(100)
+                .map(window -> window.stream().mapToInt(Integer::intValue).sum())
+                .reduce(0, Math::max)
+                .block();
+    }
+
+    @Benchmark
+    public Integer chunkedWindowSum() {
+        return IntChunkFlux.range(0, size, chunkSize)
+                .windowAggregate(100, 0, Integer::sum)
+                .reduce(0, Math::max)
+                .block();
+    }
+}
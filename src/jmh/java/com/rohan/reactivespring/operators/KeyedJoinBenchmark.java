@@ -0,0 +1,108 @@
+package com.rohan.reactivespring.operators;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Orders and payments joined by id, both sides paced at {@code ratePerSide} events per second for
+ * {@code seconds} seconds. Payment n arrives a little after order n, so almost everything matches.
+ * Aux counters report the event rate actually reached over both sides and the largest join state seen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class KeyedJoinBenchmark {
+
+    record Order(long id) {
+    }
+
+    record Payment(long orderId) {
+    }
+
+    @Param({"500000"})
+    public int ratePerSide;
+
+    @Param({"5"})
+    public int seconds;
+
+    @Param({"INNER", "LEFT"})
+    public JoinSpec.Type type;
+
+    private Scheduler pacing;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Throughput {
+
+        public double eventsPerSecond;
+        public long maxStateSize;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            eventsPerSecond = 0;
+            maxStateSize = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pacing = Schedulers.newParallel("pacing", 2);
+    }
+
+    @Benchmark
+    public void join(Throughput throughput) {
+        JoinSpec spec = JoinSpec.builder()
+                .type(type)
+                .window(Duration.ofSeconds(1))
+                .maxStateSize(4 * ratePerSide)
+                .build();
+        KeyedJoin<Order, Payment, Long, Long> join = KeyedJoin.of(Order::id, Payment::orderId,
+                (order, payment) -> order.id(), spec);
+
+        Flux<Order> orders = paced(Order::new);
+        // Payments lag the orders by one millisecond tick
+        Flux<Payment> payments = paced(Payment::new).delaySubscription(Duration.ofMillis(1), pacing);
+
+        long start = System.nanoTime();
+        join.join(orders, payments)
+                .doOnNext(id -> {
+                    if ((id & 0xFFFF) == 0) {
+                        throughput.maxStateSize = Math.max(throughput.maxStateSize, join.stateSize());
+                    }
+                })
+                .blockLast();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        throughput.eventsPerSecond = 2L * ratePerSide * seconds / elapsedSeconds;
+    }
+
+    // One batch of ratePerSide / 1000 events every millisecond
+    private <T> Flux<T> paced(Function<Long, T> factory) {
+        int perTick = ratePerSide / 1000;
+        return Flux.interval(Duration.ofMillis(1), pacing)
+                .onBackpressureBuffer()
+                .take(seconds * 1000L)
+                .concatMap(tick -> Flux.range(0, perTick).map(i -> factory.apply(tick * perTick + i)), 1);
+    }
+}
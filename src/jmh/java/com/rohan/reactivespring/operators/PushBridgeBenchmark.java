@@ -0,0 +1,129 @@
+package com.rohan.reactivespring.operators;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 8 producer threads push as fast as they can into a PushBridge whose subscriber spends a fixed time per element.
+ * Aux counters report the push rate the producers reached, the delivery rate and the share of dropped elements
+ * for each overflow policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PushBridgeBenchmark {
+
+    private static final int PRODUCERS = 8;
+
+    @Param({"DROP_OLDEST", "DROP_LATEST", "BLOCK"})
+    public BridgeSpec.Overflow overflow;
+
+    @Param({"1024"})
+    public int capacity;
+
+    @Param({"100000"})
+    public int pushesPerProducer;
+
+    // ~1M elements/s consumer
+    @Param({"1000"})
+    public long consumerNanosPerElement;
+
+    private ExecutorService producers;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Rates {
+
+        public double pushedPerSecond;
+        public double deliveredPerSecond;
+        public double dropPercent;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pushedPerSecond = 0;
+            deliveredPerSecond = 0;
+            dropPercent = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        producers = Executors.newFixedThreadPool(PRODUCERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producers.shutdownNow();
+    }
+
+    @Benchmark
+    public void push(Rates rates) throws InterruptedException {
+        PushBridge<Integer> bridge = new PushBridge<>(BridgeSpec.builder()
+                .capacity(capacity)
+                .overflow(overflow)
+                .blockTimeout(Duration.ofSeconds(30))
+                .scheduler(Schedulers.single())
+                .build());
+
+        AtomicLong delivered = new AtomicLong();
+        CountDownLatch consumed = new CountDownLatch(1);
+        bridge.asFlux()
+                .doOnNext(value -> {
+                    spin(consumerNanosPerElement);
+                    delivered.incrementAndGet();
+                })
+                .doFinally(signal -> consumed.countDown())
+                .subscribe();
+
+        CountDownLatch pushed = new CountDownLatch(PRODUCERS);
+        long start = System.nanoTime();
+        for (int p = 0; p < PRODUCERS; p++) {
+            producers.execute(() -> {
+                for (int i = 0; i < pushesPerProducer; i++) {
+                    bridge.push(i);
+                }
+                pushed.countDown();
+            });
+        }
+        pushed.await();
+        double pushSeconds = (System.nanoTime() - start) / 1e9;
+        bridge.complete();
+        consumed.await();
+        double totalSeconds = (System.nanoTime() - start) / 1e9;
+
+        long total = (long) PRODUCERS * pushesPerProducer;
+        rates.pushedPerSecond = total / pushSeconds;
+        rates.deliveredPerSecond = delivered.get() / totalSeconds;
+        rates.dropPercent = 100.0 * bridge.dropped() / total;
+    }
+
+    private static void spin(long nanos) {
+        long until = System.nanoTime() + nanos;
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.rohan.reactivespring.operators;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 64 sorted sources of 100k elements each, merged with SortedMerge vs Flux.concat(..).sort().
+ * Aux counters report the time to the first element and the peak heap (sum of the heap pool peaks) of a run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SortedMergeBenchmark {
+
+    @Param({"64"})
+    public int sources;
+
+    @Param({"100000"})
+    public int elementsPerSource;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public double firstElementMillis;
+        public double peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            firstElementMillis = 0;
+            peakHeapMb = 0;
+        }
+    }
+
+    @Benchmark
+    public void sortedMerge(Footprint footprint) {
+        run(footprint, shards -> SortedMerge.mergeSorted(Comparator.naturalOrder(), shards));
+    }
+
+    @Benchmark
+    public void concatAndSort(Footprint footprint) {
+        run(footprint, shards -> Flux.concat(shards).sort());
+    }
+
+    private void run(Footprint footprint, Function<List<Flux<Long>>, Flux<Long>> merge) {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        long[] first = new long[1];
+        merge.apply(shards())
+                .doOnNext(value -> {
+                    if (first[0] == 0) {
+                        first[0] = System.nanoTime();
+                    }
+                })
+                .blockLast();
+
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        footprint.firstElementMillis = Math.max(footprint.firstElementMillis, (first[0] - start) / 1e6);
+        footprint.peakHeapMb = Math.max(footprint.peakHeapMb, peak / (1024.0 * 1024.0));
+    }
+
+    // Source i emits i, i + sources, i + 2 * sources ... so every element of the output comes from another shard
+    private List<Flux<Long>> shards() {
+        List<Flux<Long>> shards = new ArrayList<>(sources);
+        for (int i = 0; i < sources; i++) {
+            long offset = i;
+            shards.add(Flux.range(0, elementsPerSource)
+                    .map(n -> offset + (long) n * sources)
+                    .subscribeOn(Schedulers.parallel()));
+        }
+        return shards;
+    }
+}
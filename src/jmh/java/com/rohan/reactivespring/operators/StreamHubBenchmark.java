@@ -0,0 +1,119 @@
+package com.rohan.reactivespring.operators;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code subscribers} clients watching one feed of {@code items} expensive items: every subscriber running the cold
+ * pipeline itself vs one {@link HubStream} shared by all of them. The score is the time to deliver every item to
+ * every subscriber, bytesPerSubscriber the heap the subscriptions hold (measured after a GC, so only indicative).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class StreamHubBenchmark {
+
+    public enum Source {
+        COLD, HUB
+    }
+
+    @Param({"COLD", "HUB"})
+    public Source source;
+
+    @Param({"10000"})
+    public int subscribers;
+
+    @Param({"1000"})
+    public int items;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<Disposable> subscriptions = new ArrayList<>();
+    private Sinks.Empty<Void> start;
+    private long delivered;
+    private long bytesPerSubscriber;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Delivery {
+
+        public long deliveries;
+        public long bytesPerSubscriber;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            deliveries = 0;
+            bytesPerSubscriber = 0;
+        }
+    }
+
+    // Subscribes everyone up front, the feed only starts once the benchmark completes the start signal
+    @Setup(Level.Invocation)
+    public void subscribe() {
+        start = Sinks.empty();
+        delivered = 0;
+        Flux<String> feed = Flux.range(0, items)
+                .map(StreamHubBenchmark::expensive)
+                .delaySubscription(start.asMono());
+        Flux<String> stream = source == Source.HUB
+                ? new StreamHub().stream("feed", feed, HubSpec.builder().build()).subscribe()
+                : feed;
+
+        long before = usedHeap();
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add(stream.subscribe(item -> delivered++));
+        }
+        bytesPerSubscriber = (usedHeap() - before) / subscribers;
+    }
+
+    @TearDown(Level.Invocation)
+    public void unsubscribe() {
+        subscriptions.forEach(Disposable::dispose);
+        subscriptions.clear();
+    }
+
+    @Benchmark
+    public long feed(Delivery delivery) {
+        start.tryEmitEmpty();
+        delivery.deliveries += delivered;
+        delivery.bytesPerSubscriber += bytesPerSubscriber;
+        return delivered;
+    }
+
+    private long usedHeap() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // Stands in for a db read or serialisation, the work the hub saves
+    private static String expensive(int i) {
+        String value = Integer.toString(i);
+        for (int round = 0; round < 20; round++) {
+            value = Integer.toHexString(value.hashCode() * 31 + round);
+        }
+        return value;
+    }
+}
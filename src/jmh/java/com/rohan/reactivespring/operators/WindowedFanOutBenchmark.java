@@ -0,0 +1,77 @@
+package com.rohan.reactivespring.operators;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static reactor.core.scheduler.Schedulers.parallel;
+
+/**
+ * Wall clock time of the 6 element / 1s per call case from FluxAndMonoTransformTest.
+ * With batchSize 1 the fan out should take about ceil(6 / maxConcurrency) seconds, the concatMap baseline takes 6s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class WindowedFanOutBenchmark {
+
+    private static final List<String> LETTERS = List.of("A", "B", "C", "D", "E", "F");
+
+    @Param({"1", "2", "3", "6"})
+    public int maxConcurrency;
+
+    @Param({"1", "2"})
+    public int batchSize;
+
+    @Benchmark
+    public List<String> fanOutOrdered() {
+        FanOutSpec spec = FanOutSpec.builder()
+                .batchSize(batchSize)
+                .maxConcurrency(maxConcurrency)
+                .ordered(true)
+                .build();
+
+        List<String> result = Flux.fromIterable(LETTERS)
+                .transform(WindowedFanOut.fanOut(WindowedFanOutBenchmark::externalCall, spec))
+                .collectList()
+                .block();
+
+        if (!LETTERS.equals(result)) {
+            throw new IllegalStateException("Order was not preserved: " + result);
+        }
+        return result;
+    }
+
+    // What transformUsingFlatMapAndParallelAndMaintainOrderUsingConcatMap does today
+    @Benchmark
+    public List<String> concatMapBaseline() {
+        return Flux.fromIterable(LETTERS)
+                .window(batchSize)
+                .concatMap(s -> s.map(WindowedFanOutBenchmark::externalCall).subscribeOn(parallel()))
+                .collectList()
+                .block();
+    }
+
+    private static String externalCall(String s) {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return s;
+    }
+}
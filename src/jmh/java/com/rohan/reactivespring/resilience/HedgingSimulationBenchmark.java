@@ -0,0 +1,125 @@
+package com.rohan.reactivespring.resilience;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates {@code requests} calls, one per millisecond, to a replicated backend with a long tail: most responses
+ * take 5-15ms, 2% take 100-300ms and 0.1% take a full second. Runs on a VirtualTimeScheduler, the aux counters are
+ * the interesting part: p50/p99/p999 latency of the calls as seen by the caller and extraRequestPercent, the backend
+ * requests on top of one per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class HedgingSimulationBenchmark {
+
+    public enum Strategy {
+        NONE,
+        // Hedge after the p95 latency, capped at 5% extra requests
+        HEDGE_P95,
+        // Hedge after the p99 latency, capped at 2% extra requests
+        HEDGE_P99
+    }
+
+    @Param({"NONE", "HEDGE_P95", "HEDGE_P99"})
+    public Strategy strategy;
+
+    @Param({"100000"})
+    public int requests;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Latencies {
+
+        public double p50Millis;
+        public double p99Millis;
+        public double p999Millis;
+        public double extraRequestPercent;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            p50Millis = 0;
+            p99Millis = 0;
+            p999Millis = 0;
+            extraRequestPercent = 0;
+        }
+    }
+
+    @Benchmark
+    public void hedging(Latencies result) {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        SplittableRandom random = new SplittableRandom(42);
+        long[] latencies = new long[requests];
+        long[] backendRequests = new long[1];
+
+        Mono<String> backend = Mono.defer(() -> {
+            backendRequests[0]++;
+            return Mono.delay(Duration.ofMillis(backendLatencyMillis(random)), scheduler).thenReturn("ok");
+        });
+        Hedging hedging = hedging(scheduler);
+
+        Flux.interval(Duration.ofMillis(1), scheduler)
+                .take(requests)
+                .flatMap(i -> {
+                    long start = scheduler.now(TimeUnit.MILLISECONDS);
+                    Mono<String> call = hedging == null ? backend : backend.transform(hedging.mono());
+                    return call.doOnNext(response -> latencies[i.intValue()] = scheduler.now(TimeUnit.MILLISECONDS) - start);
+                }, Integer.MAX_VALUE)
+                .subscribe();
+
+        scheduler.advanceTimeBy(Duration.ofMillis(requests).plusSeconds(5));
+        scheduler.dispose();
+
+        Arrays.sort(latencies);
+        result.p50Millis += latencies[(int) (requests * 0.5)];
+        result.p99Millis += latencies[(int) (requests * 0.99)];
+        result.p999Millis += latencies[(int) (requests * 0.999)];
+        result.extraRequestPercent += 100.0 * (backendRequests[0] - requests) / requests;
+    }
+
+    private Hedging hedging(VirtualTimeScheduler scheduler) {
+        HedgeSpec.HedgeSpecBuilder spec = HedgeSpec.builder().scheduler(scheduler);
+        switch (strategy) {
+            case HEDGE_P95:
+                return new Hedging("sim", spec.percentile(0.95).budgetRatio(0.05).build());
+            case HEDGE_P99:
+                return new Hedging("sim", spec.percentile(0.99).budgetRatio(0.02).build());
+            default:
+                return null;
+        }
+    }
+
+    private static long backendLatencyMillis(SplittableRandom random) {
+        double p = random.nextDouble();
+        if (p < 0.001) {
+            return 1000;
+        }
+        if (p < 0.021) {
+            return random.nextLong(100, 301);
+        }
+        return random.nextLong(5, 16);
+    }
+}
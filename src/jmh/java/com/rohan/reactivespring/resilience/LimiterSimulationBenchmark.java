@@ -0,0 +1,150 @@
+package com.rohan.reactivespring.resilience;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Simulates 10s of 4000 requests/s to a backend that handles 50 calls at once in 20ms, about 2500 calls/s. Past 50
+ * calls in flight its latency grows with the load, past 200 it fails calls right away. Runs on a
+ * VirtualTimeScheduler, the aux counters are the result: succeeded and failed calls, throughputPerSecond of
+ * succeeded calls over the whole run and p99Millis from arrival to response, queueing included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class LimiterSimulationBenchmark {
+
+    private static final int CAPACITY = 50;
+    private static final long BASE_LATENCY_MILLIS = 20;
+    private static final Duration ARRIVAL_EVERY = Duration.ofNanos(250_000);
+    private static final int REQUESTS = 40_000;
+
+    public enum Strategy {
+        // flatMap with the default concurrency of 256
+        STATIC_256,
+        // flatMap with a concurrency picked by hand for this backend
+        STATIC_64,
+        // 2400 calls/s, callers waiting more than 1s are rejected
+        RATE_LIMITER,
+        // ConcurrencyLimiter with its default spec
+        ADAPTIVE
+    }
+
+    @Param({"STATIC_256", "STATIC_64", "RATE_LIMITER", "ADAPTIVE"})
+    public Strategy strategy;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+
+        public long succeeded;
+        public long failed;
+        public double throughputPerSecond;
+        public double p99Millis;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            failed = 0;
+            throughputPerSecond = 0;
+            p99Millis = 0;
+        }
+    }
+
+    @Benchmark
+    public void overload(Outcome outcome) {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        int[] inFlight = new int[1];
+        long[] latencies = new long[REQUESTS];
+        long[] counts = new long[2];
+        long[] lastResponse = new long[1];
+
+        Mono<String> backend = Mono.defer(() -> {
+            int load = ++inFlight[0];
+            if (load > 4 * CAPACITY) {
+                return Mono.<String>error(new IllegalStateException("Overloaded"))
+                        .delaySubscription(Duration.ofMillis(1), scheduler);
+            }
+            long latency = Math.max(BASE_LATENCY_MILLIS, BASE_LATENCY_MILLIS * load / CAPACITY);
+            return Mono.delay(Duration.ofMillis(latency), scheduler).thenReturn("ok");
+        }).doFinally(signal -> inFlight[0]--);
+
+        Function<Mono<String>, Mono<String>> limit = limit(scheduler);
+        Flux<Long> arrivals = Flux.interval(ARRIVAL_EVERY, scheduler)
+                .take(REQUESTS)
+                .onBackpressureBuffer();
+
+        arrivals.map(i -> new long[]{i, scheduler.now(TimeUnit.MILLISECONDS)})
+                .flatMap(arrival -> backend.transform(limit)
+                        .doOnNext(response -> {
+                            long now = scheduler.now(TimeUnit.MILLISECONDS);
+                            latencies[(int) counts[0]++] = now - arrival[1];
+                            lastResponse[0] = now;
+                        })
+                        .onErrorResume(e -> {
+                            counts[1]++;
+                            return Mono.empty();
+                        }), concurrency())
+                .subscribe();
+
+        scheduler.advanceTimeBy(Duration.ofMinutes(5));
+        scheduler.dispose();
+
+        long[] succeeded = Arrays.copyOf(latencies, (int) counts[0]);
+        Arrays.sort(succeeded);
+        outcome.succeeded += counts[0];
+        outcome.failed += counts[1];
+        outcome.throughputPerSecond += lastResponse[0] == 0 ? 0 : counts[0] * 1000.0 / lastResponse[0];
+        outcome.p99Millis += succeeded.length == 0 ? 0 : succeeded[(int) (succeeded.length * 0.99)];
+    }
+
+    // One limiter per run, shared by every call like LimiterRegistry would
+    private Function<Mono<String>, Mono<String>> limit(VirtualTimeScheduler scheduler) {
+        switch (strategy) {
+            case RATE_LIMITER:
+                return new RateLimiter("sim", RateLimitSpec.builder()
+                        .permitsPerSecond(2400)
+                        .scheduler(scheduler)
+                        .build()).mono();
+            case ADAPTIVE:
+                return new ConcurrencyLimiter("sim", ConcurrencyLimitSpec.builder()
+                        .scheduler(scheduler)
+                        .build()).mono();
+            default:
+                return Function.identity();
+        }
+    }
+
+    private int concurrency() {
+        switch (strategy) {
+            case STATIC_256:
+                return 256;
+            case STATIC_64:
+                return 64;
+            default:
+                return Integer.MAX_VALUE;
+        }
+    }
+}
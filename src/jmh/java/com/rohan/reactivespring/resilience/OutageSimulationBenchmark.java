@@ -0,0 +1,126 @@
+package com.rohan.reactivespring.resilience;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Simulates a dependency that is down for 30s while {@code clients} pipelines each send it 10 requests/s, on a
+ * VirtualTimeScheduler so a run takes well under a second. The interesting numbers are the aux counters:
+ * downstreamCalls (total load on the dependency) and callsDuringOutage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class OutageSimulationBenchmark {
+
+    private static final Duration OUTAGE = Duration.ofSeconds(30);
+    private static final Duration RUN = Duration.ofSeconds(40);
+    private static final Duration REQUEST_EVERY = Duration.ofMillis(100);
+
+    public enum Strategy {
+        // Retry.backoff(3, 100ms) on every subscriber, what the demo tests do
+        PER_SUBSCRIBER_BACKOFF,
+        // Jittered backoff, effectively unlimited budget and no breaker
+        JITTER_ONLY,
+        // Jittered backoff with the shared retry budget
+        BUDGET,
+        // Budget and circuit breaker
+        BUDGET_AND_BREAKER
+    }
+
+    @Param({"PER_SUBSCRIBER_BACKOFF", "JITTER_ONLY", "BUDGET", "BUDGET_AND_BREAKER"})
+    public Strategy strategy;
+
+    @Param({"200"})
+    public int clients;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Calls {
+
+        public long downstreamCalls;
+        public long callsDuringOutage;
+        public long failedRequests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            downstreamCalls = 0;
+            callsDuringOutage = 0;
+            failedRequests = 0;
+        }
+    }
+
+    @Benchmark
+    public void outage(Calls calls) {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        long outageEnd = OUTAGE.toMillis();
+
+        Mono<String> dependency = Mono.defer(() -> {
+            calls.downstreamCalls++;
+            if (scheduler.now(TimeUnit.MILLISECONDS) < outageEnd) {
+                calls.callsDuringOutage++;
+                return Mono.error(new IllegalStateException("dependency down"));
+            }
+            return Mono.just("ok");
+        });
+
+        Function<Mono<String>, Mono<String>> protection = protection(scheduler);
+
+        Flux.range(0, clients)
+                .flatMap(client -> Flux.interval(REQUEST_EVERY, scheduler)
+                        .take(RUN.dividedBy(REQUEST_EVERY))
+                        .flatMap(tick -> dependency.transform(protection)
+                                .onErrorResume(e -> {
+                                    calls.failedRequests++;
+                                    return Mono.empty();
+                                })), clients)
+                .subscribe();
+
+        scheduler.advanceTimeBy(RUN.plusSeconds(30));
+        scheduler.dispose();
+    }
+
+    private Function<Mono<String>, Mono<String>> protection(VirtualTimeScheduler scheduler) {
+        ResilienceSpec.ResilienceSpecBuilder spec = ResilienceSpec.builder()
+                .maxRetries(3)
+                .scheduler(scheduler);
+        switch (strategy) {
+            case PER_SUBSCRIBER_BACKOFF:
+                return mono -> mono.retryWhen(Retry.backoff(3, Duration.ofMillis(100)).scheduler(scheduler));
+            case JITTER_ONLY:
+                return new Resilience("sim", spec
+                        .retryBudgetPerSecond(1_000_000)
+                        .retryBudgetBurst(1_000_000)
+                        .failureThreshold(Integer.MAX_VALUE)
+                        .build()).mono();
+            case BUDGET:
+                return new Resilience("sim", spec
+                        .failureThreshold(Integer.MAX_VALUE)
+                        .build()).mono();
+            default:
+                return new Resilience("sim", spec.build()).mono();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.rohan.reactivespring.scheduler;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10k concurrent blocking calls (like convertToList in FluxAndMonoTransformTest) offloaded to each scheduler.
+ * Reports completion time and the peak number of platform threads. On a JDK without virtual threads the VIRTUAL
+ * case measures the boundedElastic fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class BlockingCallsBenchmark {
+
+    public enum Target {
+        PARALLEL, BOUNDED_ELASTIC, VIRTUAL
+    }
+
+    @Param({"PARALLEL", "BOUNDED_ELASTIC", "VIRTUAL"})
+    public Target target;
+
+    @Param({"10000"})
+    public int calls;
+
+    @Param({"10"})
+    public long blockMillis;
+
+    private Scheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (target) {
+            case PARALLEL:
+                scheduler = Schedulers.parallel();
+                break;
+            case BOUNDED_ELASTIC:
+                scheduler = Schedulers.boundedElastic();
+                break;
+            default:
+                scheduler = BlockingSchedulers.blocking();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Threads {
+
+        private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        public int peakThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            threadMXBean.resetPeakThreadCount();
+        }
+
+        void record() {
+            peakThreads = threadMXBean.getPeakThreadCount();
+        }
+    }
+
+    @Benchmark
+    public Long blockingCalls(Threads threads) {
+        Long count = Flux.range(0, calls)
+                .flatMap(i -> Mono.fromCallable(() -> blockingCall(i)).subscribeOn(scheduler), calls)
+                .count()
+                .block();
+        threads.record();
+        return count;
+    }
+
+    private Integer blockingCall(Integer i) throws InterruptedException {
+        Thread.sleep(blockMillis);
+        return i;
+    }
+}
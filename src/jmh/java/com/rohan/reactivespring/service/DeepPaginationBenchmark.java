@@ -0,0 +1,106 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.bench.EmbeddedMongo;
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.document.ItemPrice;
+import com.rohan.reactivespring.query.Keyset;
+import com.rohan.reactivespring.query.KeysetPage;
+import com.rohan.reactivespring.query.QueryProperties;
+import com.rohan.reactivespring.query.ReadQueries;
+import com.rohan.reactivespring.scheduler.ReactiveClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read one page of {@code pageSize} items at page number {@code depth}, sorted by price, from 1M items on
+ * embedded Mongo: skip/limit vs ItemQueryService's keyset pages. Both use the {price: 1, _id: 1} index, skip still
+ * has to walk every skipped index entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class DeepPaginationBenchmark {
+
+    private static final int DOCUMENTS = 1_000_000;
+
+    @Param({"100"})
+    public int pageSize;
+
+    @Param({"10", "1000", "9000"})
+    public int depth;
+
+    private EmbeddedMongo mongo;
+    private ReactiveMongoTemplate template;
+    private ItemQueryService itemQueryService;
+    private Keyset keyset;
+
+    @Setup(Level.Trial)
+    public void seed() throws IOException {
+        mongo = EmbeddedMongo.start();
+        template = mongo.template("bench");
+        itemQueryService = new ItemQueryService(new ReadQueries(template, new QueryProperties()));
+
+        IngestProperties properties = new IngestProperties();
+        new ItemBulkIngestService(template, properties, ReactiveClock.system())
+                .ingest(Flux.range(0, DOCUMENTS).map(i -> new Item(null, "item " + i, (i % 10_000) * 1.5)))
+                .block();
+        template.indexOps(Item.class)
+                .ensureIndex(new Index().on("price", Sort.Direction.ASC).on("_id", Sort.Direction.ASC))
+                .block();
+
+        // Position at the end of the page before the measured one, found once outside the measurement
+        ItemPrice last = template.query(Item.class)
+                .as(ItemPrice.class)
+                .matching(sorted().skip((long) depth * pageSize - 1).limit(1))
+                .one()
+                .block();
+        keyset = new Keyset(last.price(), last.id());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<ItemPrice> skipLimit() {
+        return template.query(Item.class)
+                .as(ItemPrice.class)
+                .matching(sorted().skip((long) depth * pageSize).limit(pageSize))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public KeysetPage<ItemPrice> keyset() {
+        return itemQueryService.pageByPrice(keyset, pageSize).block();
+    }
+
+    private static Query sorted() {
+        return new Query().with(Sort.by("price", "_id"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.rohan.reactivespring.service;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies a file through FileStore (DataBuffers over AsynchronousFileChannel) vs reading it into a byte[] and
+ * writing that back, the usual bodyToMono(byte[].class) approach.
+ * Aux counters report MB/s, gc.alloc.rate.norm shows the byte[] version allocating the whole file per copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class FileTransferBenchmark {
+
+    @Param({"16", "256"})
+    public int sizeMb;
+
+    private Path directory;
+    private Path source;
+    private FileStore fileStore;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Transfer {
+
+        public double megabytesPerSecond;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytesPerSecond = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("file-transfer-benchmark");
+        source = directory.resolve("source.bin");
+        byte[] block = new byte[1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(block);
+        try (var out = Files.newOutputStream(source)) {
+            for (int i = 0; i < sizeMb; i++) {
+                out.write(block);
+            }
+        }
+
+        FileStoreProperties properties = new FileStoreProperties();
+        properties.setDirectory(directory.resolve("store"));
+        fileStore = new FileStore(properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void streamed(Transfer transfer) {
+        long start = System.nanoTime();
+        fileStore.write("copy.bin", fileStore.read(source)).block();
+        record(transfer, start);
+    }
+
+    @Benchmark
+    public void byteArray(Transfer transfer) throws IOException {
+        long start = System.nanoTime();
+        byte[] content = Files.readAllBytes(source);
+        Files.write(directory.resolve("copy.bin"), content);
+        record(transfer, start);
+    }
+
+    private void record(Transfer transfer, long start) {
+        transfer.megabytesPerSecond = Math.max(transfer.megabytesPerSecond, sizeMb / ((System.nanoTime() - start) / 1e9));
+    }
+}
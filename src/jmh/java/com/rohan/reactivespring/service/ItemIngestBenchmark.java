@@ -0,0 +1,96 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.bench.EmbeddedMongo;
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.repository.ItemReactiveRepository;
+import com.rohan.reactivespring.scheduler.ReactiveClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to write 100k items on embedded Mongo: one save() per document vs ItemBulkIngestService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ItemIngestBenchmark {
+
+    @Param({"100000"})
+    public int documents;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private EmbeddedMongo mongo;
+    private ReactiveMongoTemplate template;
+    private ItemReactiveRepository itemReactiveRepository;
+    private ItemBulkIngestService ingestService;
+
+    @Setup(Level.Trial)
+    public void startMongo() throws IOException {
+        mongo = EmbeddedMongo.start();
+        template = mongo.template("bench");
+        itemReactiveRepository = new ReactiveMongoRepositoryFactory(template).getRepository(ItemReactiveRepository.class);
+
+        IngestProperties properties = new IngestProperties();
+        properties.setBatchSize(batchSize);
+        ingestService = new ItemBulkIngestService(template, properties, ReactiveClock.system());
+    }
+
+    @Setup(Level.Invocation)
+    public void clean() {
+        template.dropCollection(Item.class).block();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public Long saveOneByOne() {
+        return items()
+                .concatMap(itemReactiveRepository::save)
+                .count()
+                .block();
+    }
+
+    // Per document saves with the same number of requests in flight as the batched path has batches
+    @Benchmark
+    public Long saveConcurrently() {
+        return items()
+                .flatMap(itemReactiveRepository::save, 4)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Long batchedIngest() {
+        return ingestService.ingest(items()).block();
+    }
+
+    private Flux<Item> items() {
+        return Flux.range(0, documents)
+                .map(i -> new Item(null, "item " + i, i * 1.5));
+    }
+}
@@ -0,0 +1,124 @@
+package com.rohan.reactivespring.service;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.rohan.reactivespring.bench.EmbeddedMongo;
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.repository.ItemReactiveRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 10k lookups by id on embedded Mongo, flatMap over findById vs the batching ItemLookupService.
+ * Aux counters report the find commands the driver sent (round trips) and the p99 latency of one lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ItemLookupBenchmark {
+
+    @Param({"10000"})
+    public int lookups;
+
+    // Same concurrency for both, the default of flatMap
+    @Param({"256"})
+    public int concurrency;
+
+    private final AtomicLong finds = new AtomicLong();
+
+    private EmbeddedMongo mongo;
+    private ItemReactiveRepository itemReactiveRepository;
+    private ItemLookupService itemLookupService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+
+        public long roundTrips;
+        public double p99Micros;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roundTrips = 0;
+            p99Micros = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CommandListener countFinds = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if (event.getCommandName().equals("find")) {
+                    finds.incrementAndGet();
+                }
+            }
+        };
+        mongo = EmbeddedMongo.start(settings -> settings.addCommandListener(countFinds));
+        ReactiveMongoTemplate template = mongo.template("bench");
+        itemReactiveRepository = new ReactiveMongoRepositoryFactory(template).getRepository(ItemReactiveRepository.class);
+        itemLookupService = new ItemLookupService(itemReactiveRepository);
+
+        itemReactiveRepository.saveAll(Flux.range(0, lookups)
+                        .map(i -> new Item(String.valueOf(i), "item " + i, i * 1.5)))
+                .blockLast();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public void oneByOne(RoundTrips roundTrips) {
+        run(roundTrips, itemReactiveRepository::findById);
+    }
+
+    @Benchmark
+    public void batched(RoundTrips roundTrips) {
+        run(roundTrips, itemLookupService::findById);
+    }
+
+    private void run(RoundTrips roundTrips, Function<String, Mono<Item>> lookup) {
+        long findsBefore = finds.get();
+        long[] latencies = new long[lookups];
+
+        Flux.range(0, lookups)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return lookup.apply(String.valueOf(i))
+                            .doOnNext(item -> latencies[i] = System.nanoTime() - start);
+                }, concurrency)
+                .blockLast();
+
+        Arrays.sort(latencies);
+        roundTrips.roundTrips += finds.get() - findsBefore;
+        roundTrips.p99Micros = Math.max(roundTrips.p99Micros,
+                TimeUnit.NANOSECONDS.toMicros(latencies[(int) (lookups * 0.99)]));
+    }
+}
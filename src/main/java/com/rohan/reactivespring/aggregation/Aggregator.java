@@ -0,0 +1,22 @@
+package com.rohan.reactivespring.aggregation;
+
+/**
+ * Incremental aggregation of the values of one window into a compact accumulator.
+ * <p>
+ * {@code add} and {@code merge} may mutate and return the accumulator they were given, {@code merge} is used when
+ * two session windows grow into each other.
+ *
+ * @param <T> event type
+ * @param <A> accumulator type
+ * @param <R> result type
+ */
+public interface Aggregator<T, A, R> {
+
+    A create();
+
+    A add(A accumulator, T event);
+
+    A merge(A left, A right);
+
+    R result(A accumulator);
+}
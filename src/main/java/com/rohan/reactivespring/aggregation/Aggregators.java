@@ -0,0 +1,72 @@
+package com.rohan.reactivespring.aggregation;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Common aggregators, their state is a single primitive array instead of the buffered elements.
+ */
+public final class Aggregators {
+
+    private Aggregators() {
+    }
+
+    public static <T> Aggregator<T, long[], Long> counting() {
+        return summingLong(event -> 1L);
+    }
+
+    public static <T> Aggregator<T, long[], Long> summingLong(ToLongFunction<? super T> value) {
+        return new Aggregator<>() {
+            @Override
+            public long[] create() {
+                return new long[1];
+            }
+
+            @Override
+            public long[] add(long[] accumulator, T event) {
+                accumulator[0] += value.applyAsLong(event);
+                return accumulator;
+            }
+
+            @Override
+            public long[] merge(long[] left, long[] right) {
+                left[0] += right[0];
+                return left;
+            }
+
+            @Override
+            public Long result(long[] accumulator) {
+                return accumulator[0];
+            }
+        };
+    }
+
+    // accumulator holds {sum, count}
+    public static <T> Aggregator<T, double[], Double> averagingDouble(ToDoubleFunction<? super T> value) {
+        return new Aggregator<>() {
+            @Override
+            public double[] create() {
+                return new double[2];
+            }
+
+            @Override
+            public double[] add(double[] accumulator, T event) {
+                accumulator[0] += value.applyAsDouble(event);
+                accumulator[1]++;
+                return accumulator;
+            }
+
+            @Override
+            public double[] merge(double[] left, double[] right) {
+                left[0] += right[0];
+                left[1] += right[1];
+                return left;
+            }
+
+            @Override
+            public Double result(double[] accumulator) {
+                return accumulator[1] == 0 ? 0 : accumulator[0] / accumulator[1];
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.rohan.reactivespring.aggregation;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.With;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keyed event time window aggregation (tumbling, sliding or session windows).
+ * <p>
+ * The watermark is the highest event timestamp seen minus {@code maxOutOfOrderness}. A window fires once the
+ * watermark passes its end, later events for it are still applied and re-emitted as late results until the
+ * watermark passes end + {@code allowedLateness}, after that they are dropped. Only an accumulator per key and
+ * window is kept, not the events, which is what Flux.window / buffer would retain.
+ * <p>
+ * When the source goes quiet the watermark can't move, {@code idleTimeout} lets it advance with the scheduler clock
+ * so the last windows still fire. On completion every open window fires.
+ * <p>
+ * Usage:
+ * <pre>
+ * WindowAggregation.of(WindowSpec.tumbling(Duration.ofMinutes(1)), Order::getCustomerId, Order::getTimestamp,
+ *         Aggregators.counting())
+ *     .withAllowedLateness(Duration.ofSeconds(30))
+ *     .aggregate(orders)
+ * </pre>
+ */
+@Getter(AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class WindowAggregation<T, K, A, R> {
+
+    private static final Object END = new Object();
+    private static final Object TICK = new Object();
+
+    private final WindowSpec window;
+    private final Function<? super T, ? extends K> keyFunction;
+    private final ToLongFunction<? super T> timestampFunction;
+    private final Aggregator<? super T, A, R> aggregator;
+
+    @With
+    private final Duration maxOutOfOrderness;
+
+    @With
+    private final Duration allowedLateness;
+
+    @With
+    private final Duration idleTimeout;
+
+    @With
+    private final Scheduler scheduler;
+
+    public static <T, K, A, R> WindowAggregation<T, K, A, R> of(WindowSpec window,
+                                                               Function<? super T, ? extends K> keyFunction,
+                                                               ToLongFunction<? super T> timestampFunction,
+                                                               Aggregator<? super T, A, R> aggregator) {
+        return new WindowAggregation<>(window, keyFunction, timestampFunction, aggregator,
+                Duration.ZERO, Duration.ZERO, null, Schedulers.parallel());
+    }
+
+    @SuppressWarnings("unchecked")
+    public Flux<WindowResult<K, R>> aggregate(Flux<T> events) {
+        return Flux.defer(() -> {
+            WindowEngine<T, K, A, R> engine = new WindowEngine<>(this);
+
+            Flux<Object> inputs = events.<Object>map(event -> event).concatWith(Mono.just(END));
+            if (idleTimeout != null) {
+                Flux<Object> ticks = Flux.interval(idleTimeout, idleTimeout, scheduler)
+                        .onBackpressureDrop()
+                        .map(tick -> TICK);
+                inputs = Flux.merge(inputs, ticks).takeUntil(input -> input == END);
+            }
+
+            return inputs.concatMapIterable(input -> {
+                if (input == END) {
+                    return engine.flush();
+                }
+                if (input == TICK) {
+                    return engine.onTick();
+                }
+                return engine.onEvent((T) input);
+            });
+        });
+    }
+}
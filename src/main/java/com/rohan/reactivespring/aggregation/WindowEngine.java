@@ -0,0 +1,276 @@
+package com.rohan.reactivespring.aggregation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of one subscription of a {@link WindowAggregation}. Not thread safe, signals are serialized by the caller.
+ * <p>
+ * Every key holds a linked list of its open windows ({@link Pane}s) sorted by start, fire and cleanup times are
+ * kept in a single priority queue. Timers are never updated in place, a session that grows gets a new timer and
+ * the stale one is skipped when it comes up.
+ */
+final class WindowEngine<T, K, A, R> {
+
+    private static final class Pane<K, A> {
+        final K key;
+        long start;
+        long end;
+        A accumulator;
+        boolean fired;
+        boolean cleanupScheduled;
+        boolean removed;
+        Pane<K, A> next;
+
+        Pane(K key, long start, long end, A accumulator) {
+            this.key = key;
+            this.start = start;
+            this.end = end;
+            this.accumulator = accumulator;
+        }
+    }
+
+    private record Timer<K, A>(long time, Pane<K, A> pane, boolean cleanup) {
+    }
+
+    private final WindowAggregation<T, K, A, R> config;
+    private final WindowSpec window;
+    private final long maxOutOfOrderness;
+    private final long allowedLateness;
+    private final boolean trackIdle;
+
+    private final Map<K, Pane<K, A>> panesByKey = new HashMap<>();
+    private final PriorityQueue<Timer<K, A>> timers = new PriorityQueue<>(Comparator.comparingLong(Timer::time));
+
+    private long maxTimestamp = Long.MIN_VALUE;
+    private long watermark = Long.MIN_VALUE;
+    private long lastEventAt;
+    private long droppedEvents;
+    private long paneCount;
+
+    WindowEngine(WindowAggregation<T, K, A, R> config) {
+        this.config = config;
+        this.window = config.getWindow();
+        this.maxOutOfOrderness = config.getMaxOutOfOrderness().toMillis();
+        this.allowedLateness = config.getAllowedLateness().toMillis();
+        this.trackIdle = config.getIdleTimeout() != null;
+    }
+
+    List<WindowResult<K, R>> onEvent(T event) {
+        long timestamp = config.getTimestampFunction().applyAsLong(event);
+        K key = config.getKeyFunction().apply(event);
+        List<WindowResult<K, R>> results = new ArrayList<>(0);
+
+        if (window.getType() == WindowSpec.Type.SESSION) {
+            addToSession(key, timestamp, event, results);
+        } else {
+            long size = window.getSizeMillis();
+            long slide = window.getSlideMillis();
+            boolean accepted = false;
+            for (long start = timestamp - Math.floorMod(timestamp, slide); start > timestamp - size; start -= slide) {
+                accepted |= addToWindow(key, start, start + size, event, results);
+            }
+            if (!accepted) {
+                droppedEvents++;
+            }
+        }
+
+        if (trackIdle) {
+            lastEventAt = now();
+        }
+        if (timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+            advanceWatermark(maxTimestamp - maxOutOfOrderness, results);
+        }
+        return results;
+    }
+
+    // Without events the watermark moves on with the clock, as if events kept coming at the last timestamp
+    List<WindowResult<K, R>> onTick() {
+        long idleFor = now() - lastEventAt;
+        if (maxTimestamp == Long.MIN_VALUE || idleFor < config.getIdleTimeout().toMillis()) {
+            return Collections.emptyList();
+        }
+        List<WindowResult<K, R>> results = new ArrayList<>(0);
+        advanceWatermark(maxTimestamp + idleFor - maxOutOfOrderness, results);
+        return results;
+    }
+
+    // Source completed, fire whatever is still open
+    List<WindowResult<K, R>> flush() {
+        List<WindowResult<K, R>> results = new ArrayList<>();
+        advanceWatermark(Long.MAX_VALUE, results);
+        return results;
+    }
+
+    long droppedEvents() {
+        return droppedEvents;
+    }
+
+    int keyCount() {
+        return panesByKey.size();
+    }
+
+    long paneCount() {
+        return paneCount;
+    }
+
+    private boolean addToWindow(K key, long start, long end, T event, List<WindowResult<K, R>> results) {
+        if (isExpired(end)) {
+            return false;
+        }
+        Pane<K, A> pane = findOrCreate(key, start, end);
+        pane.accumulator = aggregator().add(pane.accumulator, event);
+        if (end <= watermark) {
+            fire(pane, results);
+        }
+        return true;
+    }
+
+    private void addToSession(K key, long timestamp, T event, List<WindowResult<K, R>> results) {
+        long end = timestamp + window.getSizeMillis();
+        if (isExpired(end)) {
+            droppedEvents++;
+            return;
+        }
+
+        Pane<K, A> session = new Pane<>(key, timestamp, end, aggregator().add(aggregator().create(), event));
+        boolean fired = false;
+
+        // Absorb every session of the key that this event connects to
+        Pane<K, A> previous = null;
+        Pane<K, A> pane = panesByKey.get(key);
+        while (pane != null && pane.start <= session.end) {
+            Pane<K, A> next = pane.next;
+            if (pane.end >= session.start) {
+                session.start = Math.min(session.start, pane.start);
+                session.end = Math.max(session.end, pane.end);
+                session.accumulator = aggregator().merge(pane.accumulator, session.accumulator);
+                fired |= pane.fired;
+                unlink(key, previous, pane);
+            } else {
+                previous = pane;
+            }
+            pane = next;
+        }
+        link(key, previous, session);
+        session.fired = fired;
+
+        if (session.end <= watermark) {
+            fire(session, results);
+        } else {
+            timers.add(new Timer<>(session.end, session, false));
+        }
+    }
+
+    private boolean isExpired(long end) {
+        return watermark != Long.MIN_VALUE && end + allowedLateness <= watermark;
+    }
+
+    private Pane<K, A> findOrCreate(K key, long start, long end) {
+        Pane<K, A> previous = null;
+        Pane<K, A> pane = panesByKey.get(key);
+        while (pane != null && pane.start < start) {
+            previous = pane;
+            pane = pane.next;
+        }
+        if (pane != null && pane.start == start) {
+            return pane;
+        }
+        Pane<K, A> created = new Pane<>(key, start, end, aggregator().create());
+        link(key, previous, created);
+        if (end > watermark) {
+            timers.add(new Timer<>(end, created, false));
+        }
+        return created;
+    }
+
+    private void advanceWatermark(long newWatermark, List<WindowResult<K, R>> results) {
+        if (newWatermark <= watermark) {
+            return;
+        }
+        watermark = newWatermark;
+        while (!timers.isEmpty() && timers.peek().time() <= watermark) {
+            Timer<K, A> timer = timers.poll();
+            Pane<K, A> pane = timer.pane();
+            if (pane.removed) {
+                continue;
+            }
+            if (timer.cleanup()) {
+                if (timer.time() == pane.end + allowedLateness) {
+                    remove(pane);
+                }
+            } else if (timer.time() == pane.end) {
+                fire(pane, results);
+            }
+        }
+    }
+
+    // A session that already fired and then grew fires again as a late update
+    private void fire(Pane<K, A> pane, List<WindowResult<K, R>> results) {
+        results.add(result(pane, pane.fired));
+        pane.fired = true;
+        if (allowedLateness == 0) {
+            remove(pane);
+        } else if (!pane.cleanupScheduled) {
+            pane.cleanupScheduled = true;
+            timers.add(new Timer<>(pane.end + allowedLateness, pane, true));
+        }
+    }
+
+    private WindowResult<K, R> result(Pane<K, A> pane, boolean late) {
+        return new WindowResult<>(pane.key, pane.start, pane.end, aggregator().result(pane.accumulator), late);
+    }
+
+    private void link(K key, Pane<K, A> previous, Pane<K, A> pane) {
+        if (previous == null) {
+            pane.next = panesByKey.get(key);
+            panesByKey.put(key, pane);
+        } else {
+            pane.next = previous.next;
+            previous.next = pane;
+        }
+        paneCount++;
+    }
+
+    private void unlink(K key, Pane<K, A> previous, Pane<K, A> pane) {
+        if (previous == null) {
+            if (pane.next == null) {
+                panesByKey.remove(key);
+            } else {
+                panesByKey.put(key, pane.next);
+            }
+        } else {
+            previous.next = pane.next;
+        }
+        pane.removed = true;
+        paneCount--;
+    }
+
+    private void remove(Pane<K, A> pane) {
+        Pane<K, A> previous = null;
+        Pane<K, A> current = panesByKey.get(pane.key);
+        while (current != null && current != pane) {
+            previous = current;
+            current = current.next;
+        }
+        if (current != null) {
+            unlink(pane.key, previous, pane);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Aggregator<T, A, R> aggregator() {
+        return (Aggregator<T, A, R>) config.getAggregator();
+    }
+
+    private long now() {
+        return config.getScheduler().now(TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,7 @@
+package com.rohan.reactivespring.aggregation;
+
+/**
+ * Result of one window, {@code late} results are updates of a window that already fired.
+ */
+public record WindowResult<K, R>(K key, long start, long end, R result, boolean late) {
+}
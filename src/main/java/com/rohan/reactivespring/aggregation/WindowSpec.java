@@ -0,0 +1,39 @@
+package com.rohan.reactivespring.aggregation;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Shape of the windows, all sizes are in event time milliseconds.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class WindowSpec {
+
+    public enum Type {
+        TUMBLING, SLIDING, SESSION
+    }
+
+    Type type;
+    // Window length for tumbling / sliding windows, inactivity gap for session windows
+    long sizeMillis;
+    long slideMillis;
+
+    public static WindowSpec tumbling(Duration size) {
+        return new WindowSpec(Type.TUMBLING, size.toMillis(), size.toMillis());
+    }
+
+    public static WindowSpec sliding(Duration size, Duration slide) {
+        if (size.toMillis() % slide.toMillis() != 0) {
+            throw new IllegalArgumentException("size must be a multiple of slide");
+        }
+        return new WindowSpec(Type.SLIDING, size.toMillis(), slide.toMillis());
+    }
+
+    public static WindowSpec session(Duration gap) {
+        return new WindowSpec(Type.SESSION, gap.toMillis(), 0);
+    }
+}
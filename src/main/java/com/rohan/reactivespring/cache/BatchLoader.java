@@ -0,0 +1,105 @@
+package com.rohan.reactivespring.cache;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects single key lookups into batch queries, like a GraphQL DataLoader.
+ * <p>
+ * {@code flux.flatMap(id -> repository.findById(id))} sends one query per element. With
+ * {@code flux.flatMap(loader::load)} every key requested within {@link BatchSpec#getMaxDelay()}, or until
+ * {@link BatchSpec#getMaxBatchSize()} keys are collected, goes into one {@code findAllById} / {@code $in} query
+ * and the results are handed back to the waiting subscribers. A key requested twice in the same batch is only
+ * queried once. Keys without a result complete empty, a failed query fails every lookup of its batch, also when
+ * the batch function or keyOf throws.
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<Collection<K>, Flux<V>> batchFunction;
+    private final Function<? super V, ? extends K> keyOf;
+    private final BatchSpec spec;
+
+    // Guarded by this
+    private Map<K, Sinks.One<V>> pending = new LinkedHashMap<>();
+    private Disposable timer;
+
+    /**
+     * @param batchFunction query for many keys, e.g. {@code repository::findAllById}
+     * @param keyOf        key of a result, to match it with the lookups waiting for it
+     */
+    public BatchLoader(Function<Collection<K>, Flux<V>> batchFunction, Function<? super V, ? extends K> keyOf,
+                       BatchSpec spec) {
+        this.batchFunction = batchFunction;
+        this.keyOf = keyOf;
+        this.spec = spec;
+    }
+
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            Sinks.One<V> sink;
+            Map<K, Sinks.One<V>> full = null;
+            synchronized (this) {
+                sink = pending.get(key);
+                if (sink == null) {
+                    sink = Sinks.one();
+                    pending.put(key, sink);
+                    if (pending.size() >= spec.getMaxBatchSize()) {
+                        full = takeBatch();
+                    } else if (pending.size() == 1) {
+                        Map<K, Sinks.One<V>> batch = pending;
+                        timer = spec.getScheduler().schedule(() -> dispatchIfPending(batch),
+                                spec.getMaxDelay().toNanos(), TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+            if (full != null) {
+                dispatch(full);
+            }
+            return sink.asMono();
+        });
+    }
+
+    // Timer of a batch that may already have been sent because it filled up
+    private void dispatchIfPending(Map<K, Sinks.One<V>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            takeBatch();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, Sinks.One<V>> takeBatch() {
+        Map<K, Sinks.One<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (timer != null) {
+            timer.dispose();
+            timer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, Sinks.One<V>> batch) {
+        // defer and doOnNext turn a batchFunction or keyOf that throws into an error of the batch, so every lookup
+        // terminates, also when dispatched from the timer where a thrown exception would be lost
+        Flux.defer(() -> batchFunction.apply(batch.keySet()))
+                .doOnNext(value -> {
+                    Sinks.One<V> sink = batch.get(keyOf.apply(value));
+                    if (sink != null) {
+                        sink.tryEmitValue(value);
+                    }
+                })
+                .subscribe(null, error -> batch.values().forEach(sink -> sink.tryEmitError(error)),
+                        // Keys that got a value ignore this, the rest complete empty
+                        () -> batch.values().forEach(Sinks.One::tryEmitEmpty));
+    }
+}
@@ -0,0 +1,28 @@
+package com.rohan.reactivespring.cache;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link BatchLoader}.
+ */
+@Value
+@Builder
+public class BatchSpec {
+
+    // A batch is sent as soon as it holds this many distinct keys
+    @Builder.Default
+    int maxBatchSize = 100;
+
+    // ... or this long after its first key, whichever comes first
+    @Builder.Default
+    Duration maxDelay = Duration.ofMillis(1);
+
+    // Runs the maxDelay timer
+    @Builder.Default
+    Scheduler scheduler = Schedulers.parallel();
+}
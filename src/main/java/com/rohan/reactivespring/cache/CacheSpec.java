@@ -0,0 +1,35 @@
+package com.rohan.reactivespring.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Settings for {@link SingleFlightCache}.
+ */
+@Value
+@Builder
+public class CacheSpec {
+
+    @Builder.Default
+    long maximumSize = 10_000;
+
+    // After this an entry is still served, but the first read triggers a reload in the background
+    @Builder.Default
+    Duration refreshAfter = Duration.ofMinutes(1);
+
+    // After this an entry is gone and the next read waits for the loader
+    @Builder.Default
+    Duration expireAfter = Duration.ofMinutes(5);
+
+    @Builder.Default
+    Ticker ticker = Ticker.systemTicker();
+
+    // Runs Caffeine's maintenance and refresh callbacks
+    @Builder.Default
+    Executor executor = ForkJoinPool.commonPool();
+}
@@ -0,0 +1,42 @@
+package com.rohan.reactivespring.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Keyed cache in front of an expensive Mono lookup, like the Mono.fromSupplier in FluxAndMonoFactoryTest.
+ * <p>
+ * Concurrent reads of the same key share one in-flight load (single flight), entries are evicted by size and age,
+ * and an entry older than refreshAfter is still served while it is reloaded in the background. A load that fails or
+ * completes empty is not cached.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final AsyncLoadingCache<K, V> cache;
+
+    public SingleFlightCache(Function<K, Mono<V>> loader, CacheSpec spec) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .refreshAfterWrite(spec.getRefreshAfter())
+                .expireAfterWrite(spec.getExpireAfter())
+                .ticker(spec.getTicker())
+                .executor(spec.getExecutor())
+                .buildAsync((key, executor) -> loader.apply(key).toFuture());
+    }
+
+    public Mono<V> get(K key) {
+        // thenApply gives every subscriber its own stage, so cancelling one subscriber never cancels the shared load
+        return Mono.defer(() -> Mono.fromCompletionStage(cache.get(key).thenApply(Function.identity())));
+    }
+
+    public void invalidate(K key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+}
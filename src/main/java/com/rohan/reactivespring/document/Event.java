@@ -0,0 +1,26 @@
+package com.rohan.reactivespring.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Lives in a capped collection, feeds resume from the id of the last event in natural (insertion) order. seq is
+// drawn from a counter on append and lets a resuming cursor skip the history on the server.
+@Document(collection = "events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Event {
+
+    @Id
+    private ObjectId id;
+    private Long seq;
+    private String type;
+    private String payload;
+    private Instant createdAt;
+}
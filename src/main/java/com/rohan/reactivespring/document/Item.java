@@ -0,0 +1,22 @@
+package com.rohan.reactivespring.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// price_id serves the keyset pages of ItemQueryService
+@Document
+@CompoundIndex(name = "price_id", def = "{'price': 1, '_id': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Item {
+
+    @Id
+    private String id;
+    private String description;
+    private Double price;
+}
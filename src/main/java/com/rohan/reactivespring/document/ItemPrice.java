@@ -0,0 +1,7 @@
+package com.rohan.reactivespring.document;
+
+/**
+ * Projection of {@link Item} for price listings, reads skip the description.
+ */
+public record ItemPrice(String id, Double price) {
+}
@@ -0,0 +1,62 @@
+package com.rohan.reactivespring.error;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Cheap assembly context for errors, a fixed label per pipeline instead of Hooks.onOperatorDebug().
+ * <p>
+ * The debug hook captures a stack trace at every operator assembly, and checkpoint() adds its information as a
+ * suppressed exception, which stackless exceptions don't keep. A site is created once, usually as a constant, and
+ * only costs something when an error actually passes through it:
+ * <pre>
+ * private static final ErrorSite PLACE_ORDER = ErrorSite.of("OrderHandler.placeOrder");
+ *
+ * return orders.save(order)
+ *         .transform(PLACE_ORDER.mark())
+ * </pre>
+ */
+public final class ErrorSite {
+
+    private final String label;
+    private final OverloadedException overloaded;
+
+    private ErrorSite(String label) {
+        this.label = label;
+        this.overloaded = new OverloadedException(label);
+    }
+
+    public static ErrorSite of(String label) {
+        return new ErrorSite(label);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Shared instance, safe to signal from many pipelines at once since it is immutable
+    public OverloadedException overloaded() {
+        return overloaded;
+    }
+
+    public UpstreamException upstream(Throwable cause) {
+        return new UpstreamException(label, cause);
+    }
+
+    /**
+     * Wraps errors that don't know their site yet into an {@link UpstreamException} of this site.
+     */
+    public <T> Function<Mono<T>, Mono<T>> mark() {
+        return mono -> mono.onErrorMap(this::needsSite, this::upstream);
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> markFlux() {
+        return flux -> flux.onErrorMap(this::needsSite, this::upstream);
+    }
+
+    private boolean needsSite(Throwable error) {
+        return !(error instanceof ReactiveException reactive) || reactive.getSite() == null;
+    }
+}
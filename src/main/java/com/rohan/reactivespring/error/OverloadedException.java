@@ -0,0 +1,12 @@
+package com.rohan.reactivespring.error;
+
+/**
+ * Work rejected to shed load. Carries no per call data, so {@link ErrorSite#overloaded()} hands out one shared
+ * instance per site.
+ */
+public class OverloadedException extends ReactiveException {
+
+    public OverloadedException(String site) {
+        super(site, "Overloaded", null);
+    }
+}
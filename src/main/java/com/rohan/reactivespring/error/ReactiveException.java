@@ -0,0 +1,32 @@
+package com.rohan.reactivespring.error;
+
+/**
+ * Base of the errors signalled by our reactive pipelines.
+ * <p>
+ * No stack trace is captured and suppressed exceptions are disabled. In a reactive pipeline the stack at creation
+ * time is mostly scheduler and operator frames anyway, and at high error rates (load shedding, open breakers)
+ * filling it in costs more than the work that failed. The {@link #getSite() site} tells where the error was
+ * signalled instead, see {@link ErrorSite}.
+ */
+public class ReactiveException extends RuntimeException {
+
+    private final String site;
+
+    protected ReactiveException(String site, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.site = site;
+    }
+
+    /**
+     * Label of the pipeline that signalled the error, null if unknown.
+     */
+    public String getSite() {
+        return site;
+    }
+
+    @Override
+    public String toString() {
+        String description = super.toString();
+        return site != null ? description + " [at " + site + "]" : description;
+    }
+}
@@ -0,0 +1,11 @@
+package com.rohan.reactivespring.error;
+
+/**
+ * Failure of a dependency (db, remote service), the original error is the cause and keeps its own stack trace.
+ */
+public class UpstreamException extends ReactiveException {
+
+    public UpstreamException(String site, Throwable cause) {
+        super(site, String.valueOf(cause.getMessage()), cause);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rohan.reactivespring.handler;
+
+import com.rohan.reactivespring.document.Event;
+import com.rohan.reactivespring.service.EventStore;
+import org.bson.types.ObjectId;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+public class EventHandler {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<Event>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final EventStore eventStore;
+
+    public EventHandler(EventStore eventStore) {
+        this.eventStore = eventStore;
+    }
+
+    /**
+     * Infinite SSE feed. Browsers send the id of the last received event in the Last-Event-ID header when they
+     * reconnect, other clients can pass it as the lastEventId query parameter.
+     */
+    public Mono<ServerResponse> streamEvents(ServerRequest request) {
+        String lastEventId = request.headers().firstHeader(LAST_EVENT_ID);
+        if (lastEventId == null) {
+            lastEventId = request.queryParam("lastEventId").orElse(null);
+        }
+        if (lastEventId != null && !ObjectId.isValid(lastEventId)) {
+            return ServerResponse.badRequest().bodyValue("Invalid " + LAST_EVENT_ID + ": " + lastEventId);
+        }
+
+        Flux<Event> feed = lastEventId != null ? eventStore.feed(new ObjectId(lastEventId)) : eventStore.live();
+        Flux<ServerSentEvent<Event>> events = feed
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(event.getId().toHexString())
+                        .event(event.getType())
+                        .build());
+
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events, SSE_TYPE);
+    }
+
+    public Mono<ServerResponse> appendEvent(ServerRequest request) {
+        return request.bodyToMono(Event.class)
+                .flatMap(event -> eventStore.append(event.getType(), event.getPayload()))
+                .flatMap(saved -> ServerResponse.ok().bodyValue(saved));
+    }
+}
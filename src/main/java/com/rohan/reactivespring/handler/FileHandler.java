@@ -0,0 +1,90 @@
+package com.rohan.reactivespring.handler;
+
+import com.rohan.reactivespring.router.FileRouter;
+import com.rohan.reactivespring.service.BlobStore;
+import com.rohan.reactivespring.service.FileStore;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+
+@Component
+public class FileHandler {
+
+    private final FileStore fileStore;
+    private final BlobStore blobStore;
+
+    public FileHandler(FileStore fileStore, BlobStore blobStore) {
+        this.fileStore = fileStore;
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * Raw request body straight to disk, the body is never aggregated.
+     */
+    public Mono<ServerResponse> uploadFile(ServerRequest request) {
+        String name = request.pathVariable("name");
+        if (!FileStore.isValidName(name)) {
+            return ServerResponse.badRequest().bodyValue("Invalid file name: " + name);
+        }
+        return fileStore.write(name, request.bodyToFlux(DataBuffer.class))
+                .flatMap(size -> ServerResponse.created(URI.create(FileRouter.FILES + "/" + name))
+                        .bodyValue(Map.of("name", name, "size", size)));
+    }
+
+    public Mono<ServerResponse> downloadFile(ServerRequest request) {
+        String name = request.pathVariable("name");
+        if (!FileStore.isValidName(name)) {
+            return ServerResponse.badRequest().bodyValue("Invalid file name: " + name);
+        }
+        return fileStore.find(name)
+                .flatMap(file -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .contentLength(file.size())
+                        .body(fileBody(file)))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> uploadBlob(ServerRequest request) {
+        String name = request.queryParam("name").orElse("blob");
+        String contentType = request.headers().contentType()
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+        return blobStore.store(name, contentType, request.bodyToFlux(DataBuffer.class))
+                .flatMap(id -> ServerResponse.created(URI.create(FileRouter.BLOBS + "/" + id.toHexString()))
+                        .bodyValue(Map.of("id", id.toHexString())));
+    }
+
+    public Mono<ServerResponse> downloadBlob(ServerRequest request) {
+        String id = request.pathVariable("id");
+        if (!ObjectId.isValid(id)) {
+            return ServerResponse.badRequest().bodyValue("Invalid blob id: " + id);
+        }
+        return blobStore.find(new ObjectId(id))
+                .flatMap(blob -> ServerResponse.ok()
+                        .contentType(blob.contentType() != null
+                                ? MediaType.parseMediaType(blob.contentType())
+                                : MediaType.APPLICATION_OCTET_STREAM)
+                        .contentLength(blob.file().getLength())
+                        .body(BodyInserters.fromDataBuffers(blob.content())))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    // Netty sends the file with sendfile / FileRegion without copying it through the heap, other servers get the
+    // file as DataBuffers read from an AsynchronousFileChannel
+    private BodyInserter<FileStore.StoredFile, ReactiveHttpOutputMessage> fileBody(FileStore.StoredFile file) {
+        return (message, context) -> message instanceof ZeroCopyHttpOutputMessage zeroCopy
+                ? zeroCopy.writeWith(file.path(), 0, file.size())
+                : message.writeWith(fileStore.read(file.path()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.rohan.reactivespring.handler;
+
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.metrics.PipelineMetrics;
+import com.rohan.reactivespring.service.ItemStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streams items as NDJSON or server sent events.
+ * <p>
+ * Both are streaming media types, so every element is flushed as it is encoded and the response only requests more
+ * items when Netty can write again. A slow client therefore slows the Mongo cursor down instead of piling up
+ * encoded items in the server.
+ */
+@Component
+public class ItemStreamHandler {
+
+    private final ItemStreamService itemStreamService;
+    private final PipelineMetrics pipelineMetrics;
+
+    public ItemStreamHandler(ItemStreamService itemStreamService, PipelineMetrics pipelineMetrics) {
+        this.itemStreamService = itemStreamService;
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    public Mono<ServerResponse> streamItemsAsNdjson(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(items("items.ndjson"), Item.class);
+    }
+
+    public Mono<ServerResponse> streamItemsAsEvents(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(items("items.sse"), Item.class);
+    }
+
+    private Flux<Item> items(String pipeline) {
+        return itemStreamService.streamAll()
+                .transform(pipelineMetrics.instrument(pipeline));
+    }
+}
@@ -0,0 +1,102 @@
+package com.rohan.reactivespring.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer / single-consumer ring buffer of {@link LogEvent}s.
+ * <p>
+ * Producers (the threads running the pipelines) claim a slot with a CAS on the producer index and never block,
+ * when the ring is full the event is dropped and counted. A single daemon thread drains the ring into SLF4J.
+ */
+final class AsyncLogRing {
+
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private final AtomicReferenceArray<LogEvent> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    // Only written by the consumer
+    private volatile long consumerIndex;
+
+    AsyncLogRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of 2: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(LogEvent event) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+
+        slots.lazySet((int) index & mask, event);
+        return true;
+    }
+
+    /**
+     * Writes everything currently visible in the ring, must only be called from one thread at a time.
+     */
+    int drain() {
+        long index = consumerIndex;
+        int drained = 0;
+        while (true) {
+            int slot = (int) index & mask;
+            LogEvent event = slots.get(slot);
+            if (event == null) {
+                // empty, or a producer claimed the slot but did not publish yet
+                return drained;
+            }
+            slots.lazySet(slot, null);
+            consumerIndex = ++index;
+            write(event);
+            drained++;
+        }
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    int size() {
+        return (int) (producerIndex.get() - consumerIndex);
+    }
+
+    void start(String threadName) {
+        Thread drainer = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (drain() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }, threadName);
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    private static void write(LogEvent event) {
+        switch (event.type()) {
+            case ON_NEXT:
+                event.logger().info("| onNext({}) [{}]", event.value(), event.thread());
+                break;
+            case ON_ERROR:
+                event.logger().error("| onError({}) [{}]", event.value(), event.thread(), event.value());
+                break;
+            default:
+                event.logger().info("| {}() [{}]", event.type(), event.thread());
+        }
+    }
+}
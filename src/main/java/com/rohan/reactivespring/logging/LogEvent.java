@@ -0,0 +1,8 @@
+package com.rohan.reactivespring.logging;
+
+import org.slf4j.Logger;
+import reactor.core.publisher.SignalType;
+
+// A captured signal waiting in the ring buffer, formatting happens on the drainer thread
+record LogEvent(Logger logger, SignalType type, Object value, String thread) {
+}
@@ -0,0 +1,17 @@
+package com.rohan.reactivespring.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+
+@Configuration
+public class MetricsConfiguration {
+
+    // Publishes executor metrics (queued / active / completed tasks) of the Reactor schedulers through
+    // Metrics.globalRegistry, which Spring Boot wires to the Prometheus registry
+    @PostConstruct
+    public void enableSchedulerMetrics() {
+        Schedulers.enableMetrics();
+    }
+}
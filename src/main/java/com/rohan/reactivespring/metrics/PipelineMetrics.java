@@ -0,0 +1,177 @@
+package com.rohan.reactivespring.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Micrometer metrics for a named pipeline, the production counterpart of sprinkling .log() everywhere.
+ * <p>
+ * Records per pipeline: onNext count, request(n) demand, time from subscription to first element, duration until
+ * complete / error / cancel (as a histogram), errors by exception type and retries.
+ * <p>
+ * Usage: {@code flux.transform(pipelineMetrics.instrument("orders"))} and
+ * {@code .retryWhen(pipelineMetrics.countRetries("orders", Retry.backoff(2, Duration.ofSeconds(5))))}
+ */
+@Component
+public class PipelineMetrics {
+
+    // onNext counts are kept per subscription and pushed to the shared counter in chunks to keep the hot path cheap
+    private static final int ON_NEXT_FLUSH_EVERY = 1024;
+
+    private final MeterRegistry registry;
+
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> instrument(String pipeline) {
+        Meters meters = new Meters(pipeline);
+        return flux -> Flux.defer(() -> {
+            Probe probe = new Probe(meters);
+            return flux
+                    .doOnSubscribe(s -> probe.onSubscribe())
+                    .doOnRequest(probe::onRequest)
+                    .doOnNext(t -> probe.onNext())
+                    .doOnError(probe::onError)
+                    .doOnComplete(() -> probe.onTerminate("completed"))
+                    .doOnCancel(() -> probe.onTerminate("cancelled"));
+        });
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> instrumentMono(String pipeline) {
+        Meters meters = new Meters(pipeline);
+        return mono -> Mono.defer(() -> {
+            Probe probe = new Probe(meters);
+            return mono
+                    .doOnSubscribe(s -> probe.onSubscribe())
+                    .doOnRequest(probe::onRequest)
+                    .doOnNext(t -> probe.onNext())
+                    .doOnError(probe::onError)
+                    .doOnSuccess(t -> probe.onTerminate("completed"))
+                    .doOnCancel(() -> probe.onTerminate("cancelled"));
+        });
+    }
+
+    /**
+     * Wraps a retry spec so every resubscription is counted against the pipeline.
+     */
+    public Retry countRetries(String pipeline, Retry retry) {
+        Counter retries = Counter.builder("reactor.pipeline.retries")
+                .tag("pipeline", pipeline)
+                .register(registry);
+        return Retry.from(signals -> Flux.from(retry.generateCompanion(signals))
+                .doOnNext(s -> retries.increment()));
+    }
+
+    private final class Meters {
+
+        final String pipeline;
+        final Counter onNext;
+        final DistributionSummary requested;
+        final Counter unboundedRequests;
+        final Timer firstElement;
+
+        Meters(String pipeline) {
+            this.pipeline = pipeline;
+            this.onNext = Counter.builder("reactor.pipeline.onnext")
+                    .tag("pipeline", pipeline)
+                    .register(registry);
+            this.requested = DistributionSummary.builder("reactor.pipeline.requested")
+                    .description("request(n) demand, unbounded requests are counted separately")
+                    .tag("pipeline", pipeline)
+                    .register(registry);
+            this.unboundedRequests = Counter.builder("reactor.pipeline.requested.unbounded")
+                    .tag("pipeline", pipeline)
+                    .register(registry);
+            this.firstElement = Timer.builder("reactor.pipeline.first.element")
+                    .description("Time from subscription to the first onNext")
+                    .tag("pipeline", pipeline)
+                    .register(registry);
+        }
+
+        Timer duration(String status) {
+            return Timer.builder("reactor.pipeline.duration")
+                    .tag("pipeline", pipeline)
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        Counter errors(Throwable e) {
+            return Counter.builder("reactor.pipeline.errors")
+                    .tag("pipeline", pipeline)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(registry);
+        }
+    }
+
+    // State of a single subscription. onNext and onComplete / onError are serialized, but a cancel can come from
+    // another thread (a client disconnecting) at the same time, so termination is a CAS and pending onNext counts are
+    // taken with getAndSet.
+    private static final class Probe {
+
+        private final Meters meters;
+        private final AtomicLong pendingOnNext = new AtomicLong();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private long subscribedAt;
+        private boolean seenFirst;
+
+        Probe(Meters meters) {
+            this.meters = meters;
+        }
+
+        void onSubscribe() {
+            subscribedAt = System.nanoTime();
+        }
+
+        void onRequest(long n) {
+            if (n == Long.MAX_VALUE) {
+                meters.unboundedRequests.increment();
+            } else {
+                meters.requested.record(n);
+            }
+        }
+
+        void onNext() {
+            if (!seenFirst) {
+                seenFirst = true;
+                meters.firstElement.record(System.nanoTime() - subscribedAt, TimeUnit.NANOSECONDS);
+            }
+            // An element still in flight when a cancel terminated the probe is flushed right away
+            if (pendingOnNext.incrementAndGet() >= ON_NEXT_FLUSH_EVERY || terminated.get()) {
+                flush();
+            }
+        }
+
+        void onError(Throwable e) {
+            meters.errors(e).increment();
+            onTerminate("error");
+        }
+
+        void onTerminate(String status) {
+            if (!terminated.compareAndSet(false, true)) {
+                return;
+            }
+            flush();
+            meters.duration(status).record(System.nanoTime() - subscribedAt, TimeUnit.NANOSECONDS);
+        }
+
+        private void flush() {
+            long pending = pendingOnNext.getAndSet(0);
+            if (pending > 0) {
+                meters.onNext.increment(pending);
+            }
+        }
+    }
+}
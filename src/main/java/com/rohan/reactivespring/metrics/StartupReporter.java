@@ -0,0 +1,65 @@
+package com.rohan.reactivespring.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Logs how long the JVM took until the application was ready and how much memory it holds at that point. The
+ * startupBenchmark Gradle task starts the application with startup.exit-after-ready=true and collects these lines.
+ */
+@Component
+public class StartupReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReporter.class);
+
+    private final boolean exitAfterReady;
+
+    public StartupReporter(@Value("${startup.exit-after-ready:false}") boolean exitAfterReady) {
+        this.exitAfterReady = exitAfterReady;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        // JVM start to ready, so JVM boot and class loading count too, unlike the "Started ... in" log line
+        long startupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        List<String> status = procStatus();
+
+        log.info("startup.report startupMillis={} rssKb={} peakRssKb={} profiles={}",
+                startupMillis, statusKb(status, "VmRSS:"), statusKb(status, "VmHWM:"),
+                Arrays.toString(event.getApplicationContext().getEnvironment().getActiveProfiles()));
+
+        if (exitAfterReady) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    // Resident set size is only exposed by Linux, -1 elsewhere
+    private static List<String> procStatus() {
+        try {
+            return Files.readAllLines(Path.of("/proc/self/status"));
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private static long statusKb(List<String> status, String field) {
+        return status.stream()
+                .filter(line -> line.startsWith(field))
+                .map(line -> line.substring(field.length()).replace("kB", "").trim())
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(-1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.rohan.reactivespring.numeric;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A stream of doubles that travels as {@code double[]} chunks, one signal per chunk instead of one boxed Double per
+ * number. Operators work on the arrays directly, boxing only happens at the edges ({@link #fromFlux} /
+ * {@link #toFlux}).
+ * <p>
+ * Chunks are never mutated once emitted, every operator allocates its own output array.
+ */
+public final class DoubleChunkFlux {
+
+    private final Flux<double[]> chunks;
+
+    private DoubleChunkFlux(Flux<double[]> chunks) {
+        this.chunks = chunks;
+    }
+
+    public static DoubleChunkFlux of(Flux<double[]> chunks) {
+        return new DoubleChunkFlux(chunks);
+    }
+
+    public static DoubleChunkFlux fromFlux(Flux<Double> numbers, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        return new DoubleChunkFlux(numbers.buffer(chunkSize).map(DoubleChunkFlux::toArray));
+    }
+
+    public DoubleChunkFlux map(DoubleUnaryOperator mapper) {
+        return new DoubleChunkFlux(chunks.map(chunk -> {
+            double[] out = new double[chunk.length];
+            for (int i = 0; i < chunk.length; i++) {
+                out[i] = mapper.applyAsDouble(chunk[i]);
+            }
+            return out;
+        }));
+    }
+
+    public DoubleChunkFlux filter(DoublePredicate predicate) {
+        return new DoubleChunkFlux(chunks.<double[]>handle((chunk, sink) -> {
+            double[] out = new double[chunk.length];
+            int n = 0;
+            for (double value : chunk) {
+                if (predicate.test(value)) {
+                    out[n++] = value;
+                }
+            }
+            if (n > 0) {
+                sink.next(n == out.length ? out : Arrays.copyOf(out, n));
+            }
+        }));
+    }
+
+    public Mono<Double> reduce(double identity, DoubleBinaryOperator op) {
+        return chunks.collect(() -> new double[]{identity}, (acc, chunk) -> {
+            for (double value : chunk) {
+                acc[0] = op.applyAsDouble(acc[0], value);
+            }
+        }).map(acc -> acc[0]);
+    }
+
+    public Mono<Double> sum() {
+        return reduce(0d, Double::sum);
+    }
+
+    /**
+     * Folds every {@code windowSize} consecutive values into one, across chunk boundaries. A trailing partial
+     * window is emitted on completion, like buffer(n) does.
+     */
+    public DoubleChunkFlux windowAggregate(int windowSize, double identity, DoubleBinaryOperator op) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        return new DoubleChunkFlux(Flux.defer(() -> {
+            double[] acc = {identity};
+            int[] count = {0};
+            return chunks.<double[]>handle((chunk, sink) -> {
+                double[] out = new double[(count[0] + chunk.length) / windowSize];
+                int n = 0;
+                for (double value : chunk) {
+                    acc[0] = op.applyAsDouble(acc[0], value);
+                    if (++count[0] == windowSize) {
+                        out[n++] = acc[0];
+                        acc[0] = identity;
+                        count[0] = 0;
+                    }
+                }
+                if (n > 0) {
+                    sink.next(out);
+                }
+            }).concatWith(Mono.fromSupplier(() -> count[0] > 0 ? new double[]{acc[0]} : null));
+        }));
+    }
+
+    public Flux<double[]> chunks() {
+        return chunks;
+    }
+
+    public Flux<Double> toFlux() {
+        return chunks.flatMapIterable(chunk -> (Iterable<Double>) () -> Arrays.stream(chunk).iterator());
+    }
+
+    private static double[] toArray(List<Double> numbers) {
+        double[] chunk = new double[numbers.size()];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = numbers.get(i);
+        }
+        return chunk;
+    }
+}
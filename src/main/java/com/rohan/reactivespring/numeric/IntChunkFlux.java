@@ -0,0 +1,140 @@
+package com.rohan.reactivespring.numeric;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A stream of ints that travels as {@code int[]} chunks, one signal per chunk instead of one boxed Integer per
+ * number. Operators work on the arrays directly, boxing only happens at the edges ({@link #fromFlux} /
+ * {@link #toFlux}).
+ * <p>
+ * Chunks are never mutated once emitted, every operator allocates its own output array.
+ */
+public final class IntChunkFlux {
+
+    private final Flux<int[]> chunks;
+
+    private IntChunkFlux(Flux<int[]> chunks) {
+        this.chunks = chunks;
+    }
+
+    public static IntChunkFlux of(Flux<int[]> chunks) {
+        return new IntChunkFlux(chunks);
+    }
+
+    // Primitive counterpart of Flux.range(start, count)
+    public static IntChunkFlux range(int start, int count, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        int chunkCount = (count + chunkSize - 1) / chunkSize;
+        return new IntChunkFlux(Flux.range(0, chunkCount).map(c -> {
+            int from = c * chunkSize;
+            int[] chunk = new int[Math.min(chunkSize, count - from)];
+            for (int i = 0; i < chunk.length; i++) {
+                chunk[i] = start + from + i;
+            }
+            return chunk;
+        }));
+    }
+
+    public static IntChunkFlux fromFlux(Flux<Integer> numbers, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        return new IntChunkFlux(numbers.buffer(chunkSize).map(IntChunkFlux::toArray));
+    }
+
+    public IntChunkFlux map(IntUnaryOperator mapper) {
+        return new IntChunkFlux(chunks.map(chunk -> {
+            int[] out = new int[chunk.length];
+            for (int i = 0; i < chunk.length; i++) {
+                out[i] = mapper.applyAsInt(chunk[i]);
+            }
+            return out;
+        }));
+    }
+
+    public IntChunkFlux filter(IntPredicate predicate) {
+        return new IntChunkFlux(chunks.<int[]>handle((chunk, sink) -> {
+            int[] out = new int[chunk.length];
+            int n = 0;
+            for (int value : chunk) {
+                if (predicate.test(value)) {
+                    out[n++] = value;
+                }
+            }
+            if (n > 0) {
+                sink.next(n == out.length ? out : Arrays.copyOf(out, n));
+            }
+        }));
+    }
+
+    public Mono<Integer> reduce(int identity, IntBinaryOperator op) {
+        return chunks.collect(() -> new int[]{identity}, (acc, chunk) -> {
+            for (int value : chunk) {
+                acc[0] = op.applyAsInt(acc[0], value);
+            }
+        }).map(acc -> acc[0]);
+    }
+
+    // Summed as a long so it doesn't overflow on large streams
+    public Mono<Long> sum() {
+        return chunks.collect(() -> new long[1], (acc, chunk) -> {
+            for (int value : chunk) {
+                acc[0] += value;
+            }
+        }).map(acc -> acc[0]);
+    }
+
+    /**
+     * Folds every {@code windowSize} consecutive values into one, across chunk boundaries. A trailing partial
+     * window is emitted on completion, like buffer(n) does.
+     */
+    public IntChunkFlux windowAggregate(int windowSize, int identity, IntBinaryOperator op) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        return new IntChunkFlux(Flux.defer(() -> {
+            int[] acc = {identity};
+            int[] count = {0};
+            return chunks.<int[]>handle((chunk, sink) -> {
+                int[] out = new int[(count[0] + chunk.length) / windowSize];
+                int n = 0;
+                for (int value : chunk) {
+                    acc[0] = op.applyAsInt(acc[0], value);
+                    if (++count[0] == windowSize) {
+                        out[n++] = acc[0];
+                        acc[0] = identity;
+                        count[0] = 0;
+                    }
+                }
+                if (n > 0) {
+                    sink.next(out);
+                }
+            }).concatWith(Mono.fromSupplier(() -> count[0] > 0 ? new int[]{acc[0]} : null));
+        }));
+    }
+
+    public Flux<int[]> chunks() {
+        return chunks;
+    }
+
+    public Flux<Integer> toFlux() {
+        return chunks.flatMapIterable(chunk -> (Iterable<Integer>) () -> Arrays.stream(chunk).iterator());
+    }
+
+    private static int[] toArray(List<Integer> numbers) {
+        int[] chunk = new int[numbers.size()];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = numbers.get(i);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,135 @@
+package com.rohan.reactivespring.numeric;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A stream of longs that travels as {@code long[]} chunks, one signal per chunk instead of one boxed Long per
+ * number. Operators work on the arrays directly, boxing only happens at the edges ({@link #fromFlux} /
+ * {@link #toFlux}).
+ * <p>
+ * Chunks are never mutated once emitted, every operator allocates its own output array.
+ */
+public final class LongChunkFlux {
+
+    private final Flux<long[]> chunks;
+
+    private LongChunkFlux(Flux<long[]> chunks) {
+        this.chunks = chunks;
+    }
+
+    public static LongChunkFlux of(Flux<long[]> chunks) {
+        return new LongChunkFlux(chunks);
+    }
+
+    // Primitive counterpart of Flux.range(start, count) for long values
+    public static LongChunkFlux range(long start, int count, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        int chunkCount = (count + chunkSize - 1) / chunkSize;
+        return new LongChunkFlux(Flux.range(0, chunkCount).map(c -> {
+            int from = c * chunkSize;
+            long[] chunk = new long[Math.min(chunkSize, count - from)];
+            for (int i = 0; i < chunk.length; i++) {
+                chunk[i] = start + from + i;
+            }
+            return chunk;
+        }));
+    }
+
+    public static LongChunkFlux fromFlux(Flux<Long> numbers, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        return new LongChunkFlux(numbers.buffer(chunkSize).map(LongChunkFlux::toArray));
+    }
+
+    public LongChunkFlux map(LongUnaryOperator mapper) {
+        return new LongChunkFlux(chunks.map(chunk -> {
+            long[] out = new long[chunk.length];
+            for (int i = 0; i < chunk.length; i++) {
+                out[i] = mapper.applyAsLong(chunk[i]);
+            }
+            return out;
+        }));
+    }
+
+    public LongChunkFlux filter(LongPredicate predicate) {
+        return new LongChunkFlux(chunks.<long[]>handle((chunk, sink) -> {
+            long[] out = new long[chunk.length];
+            int n = 0;
+            for (long value : chunk) {
+                if (predicate.test(value)) {
+                    out[n++] = value;
+                }
+            }
+            if (n > 0) {
+                sink.next(n == out.length ? out : Arrays.copyOf(out, n));
+            }
+        }));
+    }
+
+    public Mono<Long> reduce(long identity, LongBinaryOperator op) {
+        return chunks.collect(() -> new long[]{identity}, (acc, chunk) -> {
+            for (long value : chunk) {
+                acc[0] = op.applyAsLong(acc[0], value);
+            }
+        }).map(acc -> acc[0]);
+    }
+
+    public Mono<Long> sum() {
+        return reduce(0L, Long::sum);
+    }
+
+    /**
+     * Folds every {@code windowSize} consecutive values into one, across chunk boundaries. A trailing partial
+     * window is emitted on completion, like buffer(n) does.
+     */
+    public LongChunkFlux windowAggregate(int windowSize, long identity, LongBinaryOperator op) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        return new LongChunkFlux(Flux.defer(() -> {
+            long[] acc = {identity};
+            int[] count = {0};
+            return chunks.<long[]>handle((chunk, sink) -> {
+                long[] out = new long[(count[0] + chunk.length) / windowSize];
+                int n = 0;
+                for (long value : chunk) {
+                    acc[0] = op.applyAsLong(acc[0], value);
+                    if (++count[0] == windowSize) {
+                        out[n++] = acc[0];
+                        acc[0] = identity;
+                        count[0] = 0;
+                    }
+                }
+                if (n > 0) {
+                    sink.next(out);
+                }
+            }).concatWith(Mono.fromSupplier(() -> count[0] > 0 ? new long[]{acc[0]} : null));
+        }));
+    }
+
+    public Flux<long[]> chunks() {
+        return chunks;
+    }
+
+    public Flux<Long> toFlux() {
+        return chunks.flatMapIterable(chunk -> (Iterable<Long>) () -> Arrays.stream(chunk).iterator());
+    }
+
+    private static long[] toArray(List<Long> numbers) {
+        long[] chunk = new long[numbers.size()];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = numbers.get(i);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,45 @@
+package com.rohan.reactivespring.operators;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link PushBridge}.
+ */
+@Value
+@Builder
+public class BridgeSpec {
+
+    public enum Overflow {
+        // Keep the newest elements, the oldest queued ones are dropped by the consumer
+        DROP_OLDEST,
+        // Reject the element being pushed
+        DROP_LATEST,
+        // Park the producer until there is room, reject the element after blockTimeout
+        BLOCK,
+        // Fail the Flux with an overflow exception
+        ERROR
+    }
+
+    // Elements queued between producers and the subscriber
+    @Builder.Default
+    int capacity = 1024;
+
+    @Builder.Default
+    Overflow overflow = Overflow.DROP_LATEST;
+
+    @Builder.Default
+    Duration blockTimeout = Duration.ofMillis(100);
+
+    // Where the subscriber is called, producer threads never call it
+    @Builder.Default
+    Scheduler scheduler = Schedulers.parallel();
+
+    // Tag of the dropped / depth metrics
+    @Builder.Default
+    String name = "bridge";
+}
@@ -0,0 +1,176 @@
+package com.rohan.reactivespring.operators;
+
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Batches of up to {@code size} elements, a batch is also closed {@code maxWait} after its first element. Unlike
+ * bufferTimeout in Reactor 3.4, a timer that fires while downstream has no demand doesn't fail with "Could not emit
+ * buffer due to lack of requests": the batch stays open, keeps taking the elements already requested for it and is
+ * closed as soon as downstream asks for it.
+ * <p>
+ * The source is only requested for the batch being filled and only while downstream wants more batches, so at most
+ * one full batch waits for demand besides the one being filled.
+ * <p>
+ * Usage: {@code flux.transform(DemandBatching.bufferTimeout(1000, Duration.ofMillis(100), scheduler))}
+ */
+public final class DemandBatching {
+
+    private DemandBatching() {
+    }
+
+    public static <T> Function<Flux<T>, Flux<List<T>>> bufferTimeout(int size, Duration maxWait, Scheduler scheduler) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        return source -> Flux.create(sink -> source.subscribe(new Batcher<>(sink, size, maxWait.toNanos(), scheduler)));
+    }
+
+    private static final class Batcher<T> extends BaseSubscriber<T> {
+
+        private final FluxSink<List<T>> sink;
+        private final int size;
+        private final long maxWaitNanos;
+        private final Scheduler scheduler;
+
+        // Guarded by this
+        private List<T> current;
+        private final ArrayDeque<List<T>> closed = new ArrayDeque<>();
+        private long outstanding;
+        private long batchId;
+        private Disposable timer;
+        private boolean flushPending;
+        private boolean done;
+
+        Batcher(FluxSink<List<T>> sink, int size, long maxWaitNanos, Scheduler scheduler) {
+            this.sink = sink;
+            this.size = size;
+            this.maxWaitNanos = maxWaitNanos;
+            this.scheduler = scheduler;
+            this.current = new ArrayList<>(size);
+            sink.onRequest(n -> drain());
+            sink.onDispose(this::cancelAll);
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            drain();
+        }
+
+        @Override
+        protected void hookOnNext(T value) {
+            synchronized (this) {
+                outstanding--;
+                current.add(value);
+                if (current.size() == 1) {
+                    long id = batchId;
+                    timer = scheduler.schedule(() -> timeout(id), maxWaitNanos, TimeUnit.NANOSECONDS);
+                }
+                if (current.size() == size) {
+                    close();
+                }
+            }
+            drain();
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            synchronized (this) {
+                done = true;
+                if (!current.isEmpty()) {
+                    close();
+                }
+            }
+            drain();
+        }
+
+        @Override
+        protected void hookOnError(Throwable error) {
+            cancelTimer();
+            sink.error(error);
+        }
+
+        private void timeout(long id) {
+            synchronized (this) {
+                if (id != batchId || current.isEmpty()) {
+                    return; // the batch was closed by size in the meantime
+                }
+                if (sink.requestedFromDownstream() == 0) {
+                    flushPending = true; // closed by drain() once there is demand
+                    return;
+                }
+                close();
+            }
+            drain();
+        }
+
+        // Called with the lock held
+        private void close() {
+            closed.add(current);
+            current = new ArrayList<>(size);
+            batchId++;
+            flushPending = false;
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+
+        // Emits under the lock so batches keep their order, requests outside it since that may call back into onNext
+        private void drain() {
+            if (upstream() == null) {
+                return; // called from onRequest before the source subscribed, hookOnSubscribe drains again
+            }
+            long request = 0;
+            synchronized (this) {
+                while (sink.requestedFromDownstream() > 0) {
+                    if (closed.isEmpty()) {
+                        if (!flushPending) {
+                            break;
+                        }
+                        close();
+                    }
+                    sink.next(closed.poll());
+                }
+                if (done) {
+                    if (closed.isEmpty()) {
+                        sink.complete();
+                    }
+                    return;
+                }
+                if (sink.requestedFromDownstream() > 0 && closed.isEmpty()) {
+                    request = size - current.size() - outstanding;
+                    if (request > 0) {
+                        outstanding += request;
+                    }
+                }
+            }
+            if (request > 0) {
+                request(request);
+            }
+        }
+
+        private synchronized void cancelTimer() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+
+        private void cancelAll() {
+            cancelTimer();
+            cancel();
+        }
+    }
+}
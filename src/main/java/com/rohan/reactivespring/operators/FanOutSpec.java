@@ -0,0 +1,31 @@
+package com.rohan.reactivespring.operators;
+
+import com.rohan.reactivespring.scheduler.BlockingSchedulers;
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Settings for {@link WindowedFanOut}.
+ */
+@Value
+@Builder
+public class FanOutSpec {
+
+    // Number of elements handed to one worker at a time, same as window(n) in the demo tests
+    @Builder.Default
+    int batchSize = 1;
+
+    // Max number of batches in flight at once
+    @Builder.Default
+    int maxConcurrency = Schedulers.DEFAULT_POOL_SIZE;
+
+    // true keeps the source order (flatMapSequential), false emits batches as they finish (flatMap)
+    @Builder.Default
+    boolean ordered = true;
+
+    // Where the blocking call runs, never run it on parallel() which only has one thread per core
+    @Builder.Default
+    Scheduler scheduler = BlockingSchedulers.blocking();
+}
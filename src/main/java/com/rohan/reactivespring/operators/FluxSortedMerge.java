@@ -0,0 +1,318 @@
+package com.rohan.reactivespring.operators;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.concurrent.Queues;
+import reactor.util.context.Context;
+
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Operator behind {@link SortedMerge}.
+ * <p>
+ * Every source gets an SPSC queue of {@code prefetch} elements which is replenished by 75% once consumed. The drain
+ * loop keeps the current head of each source in a heap of source indexes and only emits once every source that is
+ * not finished has a head, otherwise a smaller element could still arrive.
+ */
+final class FluxSortedMerge<T> extends Flux<T> {
+
+    private final Publisher<? extends T>[] sources;
+    private final Comparator<? super T> comparator;
+    private final int prefetch;
+
+    FluxSortedMerge(Publisher<? extends T>[] sources, Comparator<? super T> comparator, int prefetch) {
+        this.sources = sources;
+        this.comparator = comparator;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+        MergeSubscription<T> parent = new MergeSubscription<>(actual, sources.length, comparator, prefetch);
+        actual.onSubscribe(parent);
+        parent.subscribe(sources);
+    }
+
+    static final class MergeSubscription<T> implements Subscription {
+
+        final CoreSubscriber<? super T> actual;
+        final SourceSubscriber<T>[] subscribers;
+        final Comparator<? super T> comparator;
+
+        // Heap of source indexes ordered by their head element
+        final int[] heap;
+        final Object[] heads;
+        int heapSize;
+
+        // Sources below fillIndex had their first head taken, refill is the source whose head was just emitted
+        int fillIndex;
+        int refill = -1;
+        long emitted;
+
+        volatile boolean cancelled;
+
+        volatile Throwable error;
+        static final AtomicReferenceFieldUpdater<MergeSubscription, Throwable> ERROR =
+                AtomicReferenceFieldUpdater.newUpdater(MergeSubscription.class, Throwable.class, "error");
+
+        volatile long requested;
+        static final AtomicLongFieldUpdater<MergeSubscription> REQUESTED =
+                AtomicLongFieldUpdater.newUpdater(MergeSubscription.class, "requested");
+
+        volatile int wip;
+        static final AtomicIntegerFieldUpdater<MergeSubscription> WIP =
+                AtomicIntegerFieldUpdater.newUpdater(MergeSubscription.class, "wip");
+
+        @SuppressWarnings("unchecked")
+        MergeSubscription(CoreSubscriber<? super T> actual, int n, Comparator<? super T> comparator, int prefetch) {
+            this.actual = actual;
+            this.comparator = comparator;
+            this.subscribers = new SourceSubscriber[n];
+            for (int i = 0; i < n; i++) {
+                subscribers[i] = new SourceSubscriber<>(this, prefetch);
+            }
+            this.heap = new int[n];
+            this.heads = new Object[n];
+        }
+
+        void subscribe(Publisher<? extends T>[] sources) {
+            for (int i = 0; i < sources.length && !cancelled; i++) {
+                sources[i].subscribe(subscribers[i]);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (Operators.validate(n)) {
+                Operators.addCap(REQUESTED, this, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                cancelSources();
+                if (WIP.getAndIncrement(this) == 0) {
+                    clear();
+                }
+            }
+        }
+
+        void onInnerError(Throwable t) {
+            if (Exceptions.addThrowable(ERROR, this, t)) {
+                drain();
+            } else {
+                Operators.onErrorDropped(t, actual.currentContext());
+            }
+        }
+
+        void drain() {
+            if (WIP.getAndIncrement(this) != 0) {
+                return;
+            }
+            int missed = 1;
+            long e = emitted;
+
+            for (;;) {
+                long r = requested;
+
+                for (;;) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    if (error != null) {
+                        Throwable t = Exceptions.terminate(ERROR, this);
+                        cancelSources();
+                        clear();
+                        actual.onError(t);
+                        return;
+                    }
+                    if (fillIndex < subscribers.length) {
+                        if (!fill(fillIndex)) {
+                            break;
+                        }
+                        fillIndex++;
+                        continue;
+                    }
+                    if (refill >= 0) {
+                        if (!fill(refill)) {
+                            break;
+                        }
+                        refill = -1;
+                        continue;
+                    }
+                    if (heapSize == 0) {
+                        actual.onComplete();
+                        return;
+                    }
+                    if (e == r) {
+                        break;
+                    }
+
+                    int source = heap[0];
+                    @SuppressWarnings("unchecked")
+                    T value = (T) heads[source];
+                    heads[source] = null;
+                    removeTop();
+                    actual.onNext(value);
+                    e++;
+                    refill = source;
+                }
+
+                emitted = e;
+                missed = WIP.addAndGet(this, -missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        // Takes the next head of a source, false if the source has none yet and isn't finished
+        boolean fill(int source) {
+            SourceSubscriber<T> subscriber = subscribers[source];
+            boolean done = subscriber.done;
+            T value = subscriber.queue.poll();
+            if (value != null) {
+                subscriber.consumed();
+                heads[source] = value;
+                insert(source);
+                return true;
+            }
+            return done;
+        }
+
+        void insert(int source) {
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(source, heap[parent])) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = source;
+        }
+
+        void removeTop() {
+            int last = heap[--heapSize];
+            int i = 0;
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && less(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!less(heap[child], last)) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+        }
+
+        // Ties go to the lower source index so equal elements keep source order
+        @SuppressWarnings("unchecked")
+        boolean less(int a, int b) {
+            int c = comparator.compare((T) heads[a], (T) heads[b]);
+            return c < 0 || (c == 0 && a < b);
+        }
+
+        void cancelSources() {
+            for (SourceSubscriber<T> subscriber : subscribers) {
+                subscriber.cancel();
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < subscribers.length; i++) {
+                subscribers[i].queue.clear();
+                heads[i] = null;
+            }
+            heapSize = 0;
+        }
+    }
+
+    static final class SourceSubscriber<T> implements CoreSubscriber<T> {
+
+        final MergeSubscription<T> parent;
+        final Queue<T> queue;
+        final int prefetch;
+        final int limit;
+        int consumed;
+
+        volatile boolean done;
+
+        volatile Subscription subscription;
+        static final AtomicReferenceFieldUpdater<SourceSubscriber, Subscription> SUBSCRIPTION =
+                AtomicReferenceFieldUpdater.newUpdater(SourceSubscriber.class, Subscription.class, "subscription");
+
+        SourceSubscriber(MergeSubscription<T> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = Operators.unboundedOrLimit(prefetch);
+            this.queue = Queues.<T>get(prefetch).get();
+        }
+
+        @Override
+        public Context currentContext() {
+            return parent.actual.currentContext();
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (Operators.setOnce(SUBSCRIPTION, this, s)) {
+                s.request(Operators.unboundedOrPrefetch(prefetch));
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!queue.offer(t)) {
+                onError(Operators.onOperatorError(subscription, Exceptions.failWithOverflow(
+                        Exceptions.BACKPRESSURE_ERROR_QUEUE_FULL), t, currentContext()));
+                return;
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            parent.onInnerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        // Called from the drain loop only
+        void consumed() {
+            int c = consumed + 1;
+            if (c == limit) {
+                consumed = 0;
+                subscription.request(c);
+            } else {
+                consumed = c;
+            }
+        }
+
+        void cancel() {
+            Operators.terminate(SUBSCRIPTION, this);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.rohan.reactivespring.operators;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link HubStream}.
+ */
+@Value
+@Builder
+public class HubSpec {
+
+    // Items replayed to a new subscriber
+    @Builder.Default
+    int history = 16;
+
+    // Replayed items older than this are dropped from the history
+    @Builder.Default
+    Duration historyTtl = Duration.ofSeconds(30);
+
+    // How long the upstream stays connected after the last subscriber left
+    @Builder.Default
+    Duration gracePeriod = Duration.ofSeconds(5);
+
+    // Items buffered for a subscriber that is behind, the oldest ones are dropped past that
+    @Builder.Default
+    int subscriberBuffer = 256;
+
+    // Runs the history expiry and the grace period timer
+    @Builder.Default
+    Scheduler scheduler = Schedulers.parallel();
+}
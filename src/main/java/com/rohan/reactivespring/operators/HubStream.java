@@ -0,0 +1,64 @@
+package com.rohan.reactivespring.operators;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One named hot stream of a {@link StreamHub}.
+ * <p>
+ * The upstream is connected when the first subscriber arrives and runs once for all of them. It is cancelled when
+ * the last one has been gone for the grace period, so clients reconnecting right away don't restart it. A new
+ * subscriber first gets the recent history, then the live items.
+ * <p>
+ * Every subscriber has its own bounded buffer that drops its oldest items once full, so a slow client loses items
+ * instead of holding back the upstream and everyone else. That only helps when subscribers consume asynchronously,
+ * which is the case for WebFlux responses; a subscriber blocking in onNext still blocks the upstream thread.
+ */
+public final class HubStream<T> {
+
+    private final String name;
+    private final HubSpec spec;
+    private final Flux<T> shared;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    HubStream(String name, Publisher<? extends T> upstream, HubSpec spec) {
+        this.name = name;
+        this.spec = spec;
+        this.shared = Flux.<T>from(upstream)
+                .doOnSubscribe(s -> connections.incrementAndGet())
+                .replay(spec.getHistory(), spec.getHistoryTtl(), spec.getScheduler())
+                .refCount(1, spec.getGracePeriod(), spec.getScheduler());
+    }
+
+    public Flux<T> subscribe() {
+        return shared
+                .onBackpressureBuffer(spec.getSubscriberBuffer(), item -> dropped.increment(),
+                        BufferOverflowStrategy.DROP_OLDEST)
+                .doOnSubscribe(s -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int subscribers() {
+        return subscribers.get();
+    }
+
+    // Times the upstream was subscribed, more than one means it was disconnected and started again
+    public int connections() {
+        return connections.get();
+    }
+
+    // Items slow subscribers lost, summed over all of them
+    public long dropped() {
+        return dropped.sum();
+    }
+}
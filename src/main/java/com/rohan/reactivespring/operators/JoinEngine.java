@@ -0,0 +1,150 @@
+package com.rohan.reactivespring.operators;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of one subscription of a {@link KeyedJoin}. Not thread safe, signals are serialized by the caller.
+ * <p>
+ * Arrival times only grow, so the global FIFO is sorted by expiry and its head is always the head of its key's
+ * deque too, which makes eviction O(1) per entry.
+ */
+final class JoinEngine<L, R, K, O> {
+
+    record Left<L>(L value) {
+    }
+
+    record Right<R>(R value) {
+    }
+
+    private static final class Entry<K> {
+        final K key;
+        final Object value;
+        final boolean left;
+        final long arrivedAt;
+        boolean matched;
+
+        Entry(K key, Object value, boolean left, long arrivedAt) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.arrivedAt = arrivedAt;
+        }
+    }
+
+    private final KeyedJoin<L, R, K, O> join;
+    private final boolean leftJoin;
+    private final long windowMillis;
+    private final int maxStateSize;
+
+    private final Map<K, ArrayDeque<Entry<K>>> leftByKey = new HashMap<>();
+    private final Map<K, ArrayDeque<Entry<K>>> rightByKey = new HashMap<>();
+    private final ArrayDeque<Entry<K>> arrivals = new ArrayDeque<>();
+
+    JoinEngine(KeyedJoin<L, R, K, O> join) {
+        this.join = join;
+        this.leftJoin = join.spec().getType() == JoinSpec.Type.LEFT;
+        this.windowMillis = join.spec().getWindow().toMillis();
+        this.maxStateSize = join.spec().getMaxStateSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    List<O> onSignal(Object signal) {
+        if (signal == KeyedJoin.END) {
+            return flush();
+        }
+        List<O> results = new ArrayList<>(0);
+        long now = join.spec().getScheduler().now(TimeUnit.MILLISECONDS);
+        evictExpired(now, results);
+        if (signal instanceof Left<?> left) {
+            onLeft((L) left.value(), now, results);
+        } else if (signal instanceof Right<?> right) {
+            onRight((R) right.value(), now, results);
+        }
+        return results;
+    }
+
+    // Releases the shared state size when the subscription ends
+    void release() {
+        join.stateSizeCounter().addAndGet(-arrivals.size());
+        arrivals.clear();
+        leftByKey.clear();
+        rightByKey.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onLeft(L value, long now, List<O> results) {
+        K key = join.leftKey().apply(value);
+        Entry<K> entry = new Entry<>(key, value, true, now);
+        ArrayDeque<Entry<K>> matches = rightByKey.get(key);
+        if (matches != null) {
+            for (Entry<K> match : matches) {
+                results.add(join.combiner().apply(value, (R) match.value));
+            }
+            entry.matched = true;
+        }
+        store(leftByKey, entry, results);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRight(R value, long now, List<O> results) {
+        K key = join.rightKey().apply(value);
+        ArrayDeque<Entry<K>> matches = leftByKey.get(key);
+        if (matches != null) {
+            for (Entry<K> match : matches) {
+                results.add(join.combiner().apply((L) match.value, value));
+                match.matched = true;
+            }
+        }
+        store(rightByKey, new Entry<>(key, value, false, now), results);
+    }
+
+    private void store(Map<K, ArrayDeque<Entry<K>>> side, Entry<K> entry, List<O> results) {
+        if (arrivals.size() >= maxStateSize) {
+            evictOldest(results);
+            join.evictedEarlyCounter().incrementAndGet();
+        }
+        side.computeIfAbsent(entry.key, key -> new ArrayDeque<>(2)).addLast(entry);
+        arrivals.addLast(entry);
+        join.stateSizeCounter().incrementAndGet();
+    }
+
+    private void evictExpired(long now, List<O> results) {
+        while (!arrivals.isEmpty() && arrivals.peekFirst().arrivedAt <= now - windowMillis) {
+            evictOldest(results);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictOldest(List<O> results) {
+        Entry<K> entry = arrivals.pollFirst();
+        Map<K, ArrayDeque<Entry<K>>> side = entry.left ? leftByKey : rightByKey;
+        ArrayDeque<Entry<K>> entries = side.get(entry.key);
+        entries.pollFirst();
+        if (entries.isEmpty()) {
+            side.remove(entry.key);
+        }
+        join.stateSizeCounter().decrementAndGet();
+
+        if (leftJoin && entry.left && !entry.matched) {
+            results.add(join.combiner().apply((L) entry.value, null));
+        }
+    }
+
+    // Both sides completed, nothing can match anymore
+    private List<O> flush() {
+        if (!leftJoin) {
+            return Collections.emptyList();
+        }
+        List<O> results = new ArrayList<>();
+        while (!arrivals.isEmpty()) {
+            evictOldest(results);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,42 @@
+package com.rohan.reactivespring.operators;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link KeyedJoin}.
+ */
+@Value
+@Builder
+public class JoinSpec {
+
+    public enum Type {
+        // Only matched pairs
+        INNER,
+        // Matched pairs plus every left element that expired without a match, paired with null
+        LEFT
+    }
+
+    @Builder.Default
+    Type type = Type.INNER;
+
+    // Two elements match when they arrive at most this far apart
+    @Builder.Default
+    Duration window = Duration.ofMinutes(1);
+
+    // Elements kept per subscription over both sides, the oldest are evicted early beyond that
+    @Builder.Default
+    int maxStateSize = 1_000_000;
+
+    // Used as the processing time clock and for the eviction ticks
+    @Builder.Default
+    Scheduler scheduler = Schedulers.parallel();
+
+    // Tag of the state size metrics
+    @Builder.Default
+    String name = "join";
+}
@@ -0,0 +1,114 @@
+package com.rohan.reactivespring.operators;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Joins two streams by key within a processing time window, unlike Flux.zip which pairs elements by position.
+ * <p>
+ * Both sides are kept in a hash table per key. An arriving element is matched against the other side right away,
+ * so results come out incrementally and the sources may be infinite. Entries older than the window are evicted in
+ * arrival order, and so are the oldest ones once {@link JoinSpec#getMaxStateSize()} is reached. With
+ * {@link JoinSpec.Type#LEFT} a left element that is evicted without a match is emitted with a null right value.
+ * <p>
+ * Usage: {@code KeyedJoin.of(Order::getId, Payment::getOrderId, OrderPayment::new, spec).join(orders, payments)}
+ */
+public final class KeyedJoin<L, R, K, O> implements MeterBinder {
+
+    static final Object END = new Object();
+    static final Object TICK = new Object();
+
+    private final Function<? super L, ? extends K> leftKey;
+    private final Function<? super R, ? extends K> rightKey;
+    private final BiFunction<? super L, ? super R, ? extends O> combiner;
+    private final JoinSpec spec;
+
+    // Shared by every subscription, so the metrics cover all running joins
+    private final AtomicLong stateSize = new AtomicLong();
+    private final AtomicLong evictedEarly = new AtomicLong();
+
+    private KeyedJoin(Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+                      BiFunction<? super L, ? super R, ? extends O> combiner, JoinSpec spec) {
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+        this.combiner = combiner;
+        this.spec = spec;
+    }
+
+    public static <L, R, K, O> KeyedJoin<L, R, K, O> of(Function<? super L, ? extends K> leftKey,
+                                                       Function<? super R, ? extends K> rightKey,
+                                                       BiFunction<? super L, ? super R, ? extends O> combiner,
+                                                       JoinSpec spec) {
+        return new KeyedJoin<>(leftKey, rightKey, combiner, spec);
+    }
+
+    public Flux<O> join(Flux<? extends L> left, Flux<? extends R> right) {
+        return Flux.defer(() -> {
+            JoinEngine<L, R, K, O> engine = new JoinEngine<>(this);
+
+            // merge serializes both sides, so the engine only ever sees one signal at a time
+            Flux<Object> inputs = Flux.<Object>merge(left.map(JoinEngine.Left::new), right.map(JoinEngine.Right::new))
+                    .concatWith(Mono.just(END));
+            Flux<Object> ticks = Flux.interval(spec.getWindow(), spec.getWindow(), spec.getScheduler())
+                    .onBackpressureDrop()
+                    .map(tick -> TICK);
+
+            return Flux.merge(inputs, ticks)
+                    .takeUntil(input -> input == END)
+                    .concatMapIterable(engine::onSignal)
+                    .doFinally(signal -> engine.release());
+        });
+    }
+
+    public long stateSize() {
+        return stateSize.get();
+    }
+
+    public long evictedEarly() {
+        return evictedEarly.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reactor.join.state", stateSize, AtomicLong::get)
+                .tag("name", spec.getName())
+                .description("Elements buffered by the join waiting for a match")
+                .register(registry);
+        FunctionCounter.builder("reactor.join.evicted.early", evictedEarly, AtomicLong::get)
+                .tag("name", spec.getName())
+                .description("Elements evicted before their window ended because the state was full")
+                .register(registry);
+    }
+
+    Function<? super L, ? extends K> leftKey() {
+        return leftKey;
+    }
+
+    Function<? super R, ? extends K> rightKey() {
+        return rightKey;
+    }
+
+    BiFunction<? super L, ? super R, ? extends O> combiner() {
+        return combiner;
+    }
+
+    JoinSpec spec() {
+        return spec;
+    }
+
+    AtomicLong stateSizeCounter() {
+        return stateSize;
+    }
+
+    AtomicLong evictedEarlyCounter() {
+        return evictedEarly;
+    }
+}
@@ -0,0 +1,278 @@
+package com.rohan.reactivespring.operators;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bridge from push based producers (socket handlers, listeners) to a Flux that honours the subscriber's demand.
+ * <p>
+ * Any number of threads may call {@link #push(Object)} at the same time. Elements go into a lock free MPSC queue
+ * whose size is bounded by {@link BridgeSpec#getCapacity()} according to {@link BridgeSpec#getOverflow()}. A single
+ * drain loop on the spec's scheduler hands them to the subscriber as it requests them. Sinks.many() would reject
+ * concurrent emissions with FAIL_NON_SERIALIZED, which producers would have to retry.
+ * <p>
+ * Usage:
+ * <pre>
+ * PushBridge&lt;Message&gt; bridge = new PushBridge&lt;&gt;(spec);
+ * socket.onMessage(bridge::push);
+ * bridge.asFlux().flatMap(this::handle)
+ * </pre>
+ */
+public final class PushBridge<T> implements MeterBinder {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final BridgeSpec spec;
+    private final Queue<T> queue = Queues.<T>unboundedMultiproducer().get();
+    // Queued elements, the MPSC queue itself has no cheap size()
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicReference<CoreSubscriber<? super T>> subscriber = new AtomicReference<>();
+    private final Scheduler.Worker worker;
+
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile boolean overflowed;
+    private volatile boolean cancelled;
+
+    public PushBridge(BridgeSpec spec) {
+        this.spec = spec;
+        this.worker = spec.getScheduler().createWorker();
+    }
+
+    /**
+     * @return false if the element was not accepted: rejected by DROP_LATEST / ERROR, timed out with BLOCK, or the
+     * bridge is already terminated. DROP_OLDEST always accepts and drops older elements instead.
+     */
+    public boolean push(T value) {
+        if (done || cancelled) {
+            return false;
+        }
+        switch (spec.getOverflow()) {
+            case DROP_OLDEST:
+                size.incrementAndGet();
+                break;
+            case DROP_LATEST:
+                if (!reserve()) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                break;
+            case BLOCK:
+                if (!reserveWithin(spec.getBlockTimeout().toNanos())) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                break;
+            case ERROR:
+                if (!reserve()) {
+                    dropped.incrementAndGet();
+                    overflowed = true;
+                    done = true;
+                    drain();
+                    return false;
+                }
+                break;
+        }
+        queue.offer(value);
+        drain();
+        return true;
+    }
+
+    public void complete() {
+        done = true;
+        drain();
+    }
+
+    public void error(Throwable t) {
+        error = t;
+        done = true;
+        drain();
+    }
+
+    public Flux<T> asFlux() {
+        return new BridgeFlux();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public int depth() {
+        return Math.max(0, size.get());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reactor.bridge.depth", this, PushBridge::depth)
+                .tag("name", spec.getName())
+                .description("Elements queued in the bridge")
+                .register(registry);
+        FunctionCounter.builder("reactor.bridge.dropped", dropped, AtomicLong::get)
+                .tag("name", spec.getName())
+                .tag("overflow", spec.getOverflow().name())
+                .description("Elements dropped because the bridge was full")
+                .register(registry);
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= spec.getCapacity()) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean reserveWithin(long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (!reserve()) {
+            if (done || cancelled || System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() == 0) {
+            try {
+                worker.schedule(this::drainLoop);
+            } catch (RejectedExecutionException e) {
+                // Already terminated, the worker is disposed
+            }
+        }
+    }
+
+    // Only ever runs on the worker, so it is the single consumer of the queue
+    private void drainLoop() {
+        int missed = 1;
+        for (;;) {
+            dropOldest();
+
+            CoreSubscriber<? super T> actual = subscriber.get();
+            if (cancelled) {
+                clear();
+                return;
+            }
+            if (actual != null) {
+                if (overflowed) {
+                    clear();
+                    terminate(actual, Exceptions.failWithOverflow("PushBridge " + spec.getName() + " is full"));
+                    return;
+                }
+
+                long r = requested.get();
+                long e = 0;
+                while (e != r) {
+                    boolean d = done;
+                    // With unbounded demand this loop runs as long as producers keep up, so trim on every element
+                    dropOldest();
+                    T value = queue.poll();
+                    if (value == null) {
+                        if (d) {
+                            terminate(actual, error);
+                            return;
+                        }
+                        break;
+                    }
+                    size.decrementAndGet();
+                    actual.onNext(value);
+                    e++;
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                }
+                if (e == r && done && queue.isEmpty()) {
+                    terminate(actual, error);
+                    return;
+                }
+                if (e != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-e);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void dropOldest() {
+        if (spec.getOverflow() == BridgeSpec.Overflow.DROP_OLDEST) {
+            while (size.get() > spec.getCapacity() && queue.poll() != null) {
+                size.decrementAndGet();
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private void terminate(CoreSubscriber<? super T> actual, Throwable t) {
+        cancelled = true;
+        worker.dispose();
+        if (t != null) {
+            actual.onError(t);
+        } else {
+            actual.onComplete();
+        }
+    }
+
+    private void clear() {
+        while (queue.poll() != null) {
+            size.decrementAndGet();
+        }
+        worker.dispose();
+    }
+
+    private final class BridgeFlux extends Flux<T> implements Subscription {
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+            if (!subscriber.compareAndSet(null, actual)) {
+                Operators.error(actual, new IllegalStateException("PushBridge allows only one subscriber"));
+                return;
+            }
+            actual.onSubscribe(this);
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (Operators.validate(n)) {
+                requested.getAndUpdate(r -> Operators.addCap(r, n));
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+    }
+}
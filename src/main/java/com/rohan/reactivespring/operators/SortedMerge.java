@@ -0,0 +1,43 @@
+package com.rohan.reactivespring.operators;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.util.concurrent.Queues;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Merges sources that are each already sorted into one sorted Flux.
+ * <p>
+ * Unlike {@code Flux.merge} the output keeps the order, and unlike {@code Flux.concat(..).sort()} all sources are
+ * subscribed at once and nothing is buffered beyond {@code prefetch} elements per source. The smallest head is
+ * picked from a binary heap, so one element costs O(log k) comparisons. Reactor's own {@code Flux.mergeComparing}
+ * scans every source for each element. Equal elements come out in source order.
+ * <p>
+ * Usage: {@code SortedMerge.mergeSorted(Comparator.comparing(Item::getPrice), shardResults)}
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    public static <T> Flux<T> mergeSorted(Comparator<? super T> comparator,
+                                          List<? extends Publisher<? extends T>> sources) {
+        return mergeSorted(comparator, Queues.SMALL_BUFFER_SIZE, sources);
+    }
+
+    public static <T> Flux<T> mergeSorted(Comparator<? super T> comparator, int prefetch,
+                                          List<? extends Publisher<? extends T>> sources) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive");
+        }
+        if (sources.isEmpty()) {
+            return Flux.empty();
+        }
+        if (sources.size() == 1) {
+            return Flux.from(sources.get(0));
+        }
+        return new FluxSortedMerge<>(sources.toArray(new Publisher[0]), comparator, prefetch);
+    }
+}
@@ -0,0 +1,34 @@
+package com.rohan.reactivespring.operators;
+
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named hot streams shared by every subscriber, for expensive feeds many clients watch at once. A cold Flux runs its
+ * whole pipeline again for every subscriber, a {@link HubStream} runs it once.
+ * <p>
+ * Usage: {@code hub.stream("prices", priceService.prices()).subscribe()}
+ */
+@Component
+public class StreamHub {
+
+    private final Map<String, HubStream<?>> streams = new ConcurrentHashMap<>();
+
+    public <T> HubStream<T> stream(String name, Publisher<? extends T> upstream) {
+        return stream(name, upstream, HubSpec.builder().build());
+    }
+
+    // The upstream and spec are only used the first time a name is seen
+    @SuppressWarnings("unchecked")
+    public <T> HubStream<T> stream(String name, Publisher<? extends T> upstream, HubSpec spec) {
+        return (HubStream<T>) streams.computeIfAbsent(name, n -> new HubStream<>(n, upstream, spec));
+    }
+
+    public Optional<HubStream<?>> find(String name) {
+        return Optional.ofNullable(streams.get(name));
+    }
+}
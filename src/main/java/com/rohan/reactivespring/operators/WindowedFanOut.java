@@ -0,0 +1,48 @@
+package com.rohan.reactivespring.operators;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reusable version of the window(2) + subscribeOn(parallel()) pattern from FluxAndMonoTransformTest.
+ * <p>
+ * The source is cut into batches of {@link FanOutSpec#getBatchSize()}, every batch runs the blocking call on the
+ * configured scheduler and at most {@link FanOutSpec#getMaxConcurrency()} batches are in flight. Ordered mode uses
+ * flatMapSequential, so the order is kept without giving up parallelism like concatMap does.
+ * <p>
+ * Usage: {@code flux.transform(WindowedFanOut.fanOut(this::convertToList, spec))}
+ */
+public final class WindowedFanOut {
+
+    private WindowedFanOut() {
+    }
+
+    public static <T, R> Function<Flux<T>, Flux<R>> fanOut(Function<? super T, ? extends R> blockingCall,
+                                                         FanOutSpec spec) {
+        return source -> {
+            Flux<List<T>> batches = source.buffer(spec.getBatchSize());
+
+            Function<List<T>, Mono<List<R>>> callBatch = batch -> Mono.fromCallable(() -> callAll(batch, blockingCall))
+                    .subscribeOn(spec.getScheduler());
+
+            // Each inner Mono emits exactly one list, so a prefetch of 1 is all that is ever needed
+            Flux<List<R>> results = spec.isOrdered()
+                    ? batches.flatMapSequential(callBatch, spec.getMaxConcurrency(), 1)
+                    : batches.flatMap(callBatch, spec.getMaxConcurrency(), 1);
+
+            return results.flatMapIterable(Function.identity());
+        };
+    }
+
+    private static <T, R> List<R> callAll(List<T> batch, Function<? super T, ? extends R> blockingCall) {
+        List<R> results = new ArrayList<>(batch.size());
+        for (T element : batch) {
+            results.add(blockingCall.apply(element));
+        }
+        return results;
+    }
+}
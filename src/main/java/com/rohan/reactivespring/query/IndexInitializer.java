@@ -0,0 +1,52 @@
+package com.rohan.reactivespring.query;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Creates the indexes declared on the documents (@Indexed, @CompoundIndex) at startup, Boot leaves
+ * spring.data.mongodb.auto-index-creation off. Runs before {@link IndexVerifier} so it checks the created indexes,
+ * and waits for them so the first queries don't scan.
+ */
+@Component
+@Order(IndexInitializer.ORDER)
+public class IndexInitializer implements ApplicationRunner {
+
+    static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final Logger log = LoggerFactory.getLogger(IndexInitializer.class);
+
+    private final ReactiveMongoTemplate template;
+    private final QueryProperties properties;
+
+    public IndexInitializer(ReactiveMongoTemplate template, QueryProperties properties) {
+        this.template = template;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(template.getConverter().getMappingContext());
+
+        try {
+            Flux.fromIterable(template.getConverter().getMappingContext().getPersistentEntities())
+                    .filter(entity -> entity.isAnnotationPresent(Document.class))
+                    .concatMap(entity -> Flux.fromIterable(resolver.resolveIndexFor(entity.getType()))
+                            .concatMap(index -> template.indexOps(entity.getCollection()).ensureIndex(index)))
+                    .blockLast(properties.getStartupTimeout());
+        } catch (RuntimeException e) {
+            // IndexVerifier reports the shapes left unindexed and fails startup if configured to
+            log.warn("Could not create the declared indexes, continuing", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.rohan.reactivespring.query;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Checks at startup that every declared {@link QueryShape} has an index serving it, and logs the index to create
+ * when not. An unindexed query works fine on a small collection and scans it entirely once it has grown.
+ * Failing to verify (Mongo down, timeout) only logs, unless query.fail-on-unindexed is set.
+ */
+@Component
+@Order(IndexVerifier.ORDER)
+public class IndexVerifier implements ApplicationRunner {
+
+    static final int ORDER = IndexInitializer.ORDER + 1;
+
+    private static final Logger log = LoggerFactory.getLogger(IndexVerifier.class);
+
+    private final ReactiveMongoTemplate template;
+    private final List<QueryShapes> queryShapes;
+    private final QueryProperties properties;
+
+    public IndexVerifier(ReactiveMongoTemplate template, List<QueryShapes> queryShapes, QueryProperties properties) {
+        this.template = template;
+        this.queryShapes = queryShapes;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<QueryShape> unindexed;
+        try {
+            unindexed = unindexed().block(properties.getStartupTimeout());
+        } catch (RuntimeException e) {
+            if (properties.isFailOnUnindexed()) {
+                throw e;
+            }
+            log.warn("Could not verify the indexes of the query shapes, continuing", e);
+            return;
+        }
+        for (QueryShape shape : unindexed) {
+            log.warn("Unindexed query shape {}, suggested index on {}: {}", shape, shape.collection(),
+                    shape.suggestedIndex());
+        }
+        if (!unindexed.isEmpty() && properties.isFailOnUnindexed()) {
+            throw new IllegalStateException("Unindexed query shapes: " + unindexed);
+        }
+    }
+
+    public Mono<List<QueryShape>> unindexed() {
+        return Flux.fromIterable(queryShapes)
+                .flatMapIterable(QueryShapes::queryShapes)
+                .filterWhen(shape -> template.indexOps(shape.collection()).getIndexInfo()
+                        .any(shape::isServedBy)
+                        .map(served -> !served))
+                .collectList();
+    }
+}
@@ -0,0 +1,7 @@
+package com.rohan.reactivespring.query;
+
+/**
+ * Position in a keyset paginated query: the sort value and id of the last document of the previous page.
+ */
+public record Keyset(Object value, Object id) {
+}
@@ -0,0 +1,13 @@
+package com.rohan.reactivespring.query;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated query, {@code next} is null on the last page.
+ */
+public record KeysetPage<T>(List<T> content, Keyset next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.rohan.reactivespring.query;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the read path, bound from the query.* properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "query")
+public class QueryProperties {
+
+    // Documents per getMore for streamed queries, downstream demand is capped to the same number
+    private int cursorBatchSize = 256;
+
+    // Larger keyset pages are cut to this size
+    private int maxPageSize = 1000;
+
+    // Fail startup instead of logging a warning when a declared query shape has no index
+    private boolean failOnUnindexed = false;
+
+    // Max wait for the index creation and verification at startup, so an unreachable Mongo does not hang it
+    private Duration startupTimeout = Duration.ofSeconds(10);
+}
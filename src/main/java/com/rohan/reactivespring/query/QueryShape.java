@@ -0,0 +1,45 @@
+package com.rohan.reactivespring.query;
+
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields a query filters on by equality and sorts on, in sort order. An index serves it when its keys start with
+ * the equality fields, in any order, followed by the sort fields.
+ */
+public record QueryShape(String collection, List<String> equality, List<String> sort) {
+
+    public boolean isServedBy(IndexInfo index) {
+        List<String> keys = index.getIndexFields().stream()
+                .map(IndexField::getKey)
+                .collect(Collectors.toList());
+        if (keys.size() < equality.size() + sort.size()) {
+            return false;
+        }
+        Set<String> leading = new HashSet<>(keys.subList(0, equality.size()));
+        return leading.equals(new HashSet<>(equality))
+                && keys.subList(equality.size(), equality.size() + sort.size()).equals(sort);
+    }
+
+    // Index that would serve the shape, in shell syntax
+    public String suggestedIndex() {
+        StringBuilder keys = new StringBuilder("{");
+        for (String field : equality) {
+            keys.append(keys.length() > 1 ? ", " : "").append(field).append(": 1");
+        }
+        for (String field : sort) {
+            keys.append(keys.length() > 1 ? ", " : "").append(field).append(": 1");
+        }
+        return keys.append("}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return collection + " equality=" + equality + " sort=" + sort;
+    }
+}
@@ -0,0 +1,11 @@
+package com.rohan.reactivespring.query;
+
+import java.util.List;
+
+/**
+ * Implemented by beans that run queries, so {@link IndexVerifier} can check their shapes at startup.
+ */
+public interface QueryShapes {
+
+    List<QueryShape> queryShapes();
+}
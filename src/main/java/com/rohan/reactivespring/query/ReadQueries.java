@@ -0,0 +1,90 @@
+package com.rohan.reactivespring.query;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read path on top of ReactiveMongoTemplate:
+ * <ul>
+ *     <li>results are mapped to a projection type and only its fields are fetched, not the whole document</li>
+ *     <li>streamed queries use the configured cursor batch size and cap downstream demand to it, so the driver
+ *     reads one batch ahead of the subscriber</li>
+ *     <li>pages are found by seeking past the last key of the previous page instead of skip, which reads and
+ *     throws away every skipped document</li>
+ * </ul>
+ */
+@Component
+public class ReadQueries {
+
+    private static final String ID = "_id";
+
+    private final ReactiveMongoTemplate template;
+    private final QueryProperties properties;
+
+    public ReadQueries(ReactiveMongoTemplate template, QueryProperties properties) {
+        this.template = template;
+        this.properties = properties;
+    }
+
+    /**
+     * Documents matching {@code query}, which is left as it is, the batch size is set on a copy.
+     */
+    public <T> Flux<T> stream(Class<?> document, Class<T> projection, Query query) {
+        int batchSize = properties.getCursorBatchSize();
+        return template.query(document)
+                .as(projection)
+                .matching(Query.of(query).cursorBatchSize(batchSize))
+                .all()
+                .limitRate(batchSize);
+    }
+
+    /**
+     * Page of documents matching {@code filter} sorted by {@code sortField} then id, both ascending.
+     *
+     * @param after position returned with the previous page, null for the first page
+     * @param size at least 1, larger sizes are cut to query.max-page-size
+     * @param keyOf the sort value and id of a result, the projection has to include both
+     */
+    public <T> Mono<KeysetPage<T>> page(Class<?> document, Class<T> projection, Criteria filter, String sortField,
+                                        Keyset after, int size, Function<T, Keyset> keyOf) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be >= 1: " + size);
+        }
+        int pageSize = Math.min(size, properties.getMaxPageSize());
+        Query query = new Query(seek(filter, sortField, after))
+                .with(Sort.by(sortField, ID))
+                .limit(pageSize + 1) // one more tells whether there is a next page
+                .cursorBatchSize(pageSize + 1);
+
+        return template.query(document)
+                .as(projection)
+                .matching(query)
+                .all()
+                .collectList()
+                .map(results -> {
+                    if (results.size() <= pageSize) {
+                        return new KeysetPage<>(results, null);
+                    }
+                    List<T> content = results.subList(0, pageSize);
+                    return new KeysetPage<>(content, keyOf.apply(content.get(pageSize - 1)));
+                });
+    }
+
+    private static Criteria seek(Criteria filter, String sortField, Keyset after) {
+        if (after == null) {
+            return filter != null ? filter : new Criteria();
+        }
+        Criteria seek = new Criteria().orOperator(
+                Criteria.where(sortField).gt(after.value()),
+                Criteria.where(sortField).is(after.value()).and(ID).gt(after.id()));
+        return filter != null ? new Criteria().andOperator(filter, seek) : seek;
+    }
+}
@@ -0,0 +1,14 @@
+package com.rohan.reactivespring.repository;
+
+import com.rohan.reactivespring.document.Event;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Tailable;
+import reactor.core.publisher.Flux;
+
+public interface EventReactiveRepository extends ReactiveMongoRepository<Event, ObjectId> {
+
+    // Tailable cursors never complete while the collection has documents, new inserts are pushed to them
+    @Tailable
+    Flux<Event> findWithTailableCursorBy();
+}
@@ -0,0 +1,7 @@
+package com.rohan.reactivespring.repository;
+
+import com.rohan.reactivespring.document.Item;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ItemReactiveRepository extends ReactiveMongoRepository<Item, String> {
+}
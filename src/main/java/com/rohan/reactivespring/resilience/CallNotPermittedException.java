@@ -0,0 +1,14 @@
+package com.rohan.reactivespring.resilience;
+
+import com.rohan.reactivespring.error.ReactiveException;
+
+/**
+ * Signalled instead of calling the dependency while its circuit breaker is open.
+ * Thrown a lot during an outage, every breaker reuses a single instance.
+ */
+public class CallNotPermittedException extends ReactiveException {
+
+    public CallNotPermittedException(String breaker) {
+        super("CircuitBreaker " + breaker, "Circuit breaker '" + breaker + "' is open", null);
+    }
+}
@@ -0,0 +1,150 @@
+package com.rohan.reactivespring.resilience;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock free circuit breaker. The state is an immutable snapshot swapped with CAS:
+ * <ul>
+ *     <li>CLOSED: calls go through, {@code failureThreshold} consecutive failures open the breaker</li>
+ *     <li>OPEN: calls fail fast with {@link CallNotPermittedException} until {@code openDuration} passed</li>
+ *     <li>HALF_OPEN: {@code halfOpenCalls} trial calls go through, one success closes, one failure re-opens</li>
+ * </ul>
+ */
+public class CircuitBreaker {
+
+    public enum Status {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private record State(Status status, int failures, long openedAt, int trialCalls) {
+    }
+
+    private static final State CLOSED = new State(Status.CLOSED, 0, 0, 0);
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Scheduler clock;
+    private final AtomicReference<State> state = new AtomicReference<>(CLOSED);
+    private final CallNotPermittedException notPermitted;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, int halfOpenCalls, Scheduler clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.notPermitted = new CallNotPermittedException(name);
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Mono.error(notPermitted);
+            }
+            return call
+                    .doOnSuccess(t -> onSuccess())
+                    .doOnError(e -> onError())
+                    .doOnCancel(this::onCancel);
+        });
+    }
+
+    public <T> Flux<T> protect(Flux<T> call) {
+        return Flux.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Flux.error(notPermitted);
+            }
+            return call
+                    .doOnComplete(this::onSuccess)
+                    .doOnError(e -> onError())
+                    .doOnCancel(this::onCancel);
+        });
+    }
+
+    public Status status() {
+        return state.get().status();
+    }
+
+    boolean tryAcquirePermission() {
+        while (true) {
+            State current = state.get();
+            State next;
+            switch (current.status()) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (now() - current.openedAt() < openNanos) {
+                        return false;
+                    }
+                    next = new State(Status.HALF_OPEN, 0, current.openedAt(), 1);
+                    break;
+                default:
+                    if (current.trialCalls() >= halfOpenCalls) {
+                        return false;
+                    }
+                    next = new State(Status.HALF_OPEN, 0, current.openedAt(), current.trialCalls() + 1);
+            }
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    void onSuccess() {
+        while (true) {
+            State current = state.get();
+            if (current.status() == Status.OPEN || current == CLOSED) {
+                return;
+            }
+            if (state.compareAndSet(current, CLOSED)) {
+                return;
+            }
+        }
+    }
+
+    void onError() {
+        while (true) {
+            State current = state.get();
+            State next;
+            switch (current.status()) {
+                case OPEN:
+                    return;
+                case CLOSED:
+                    next = current.failures() + 1 >= failureThreshold
+                            ? new State(Status.OPEN, 0, now(), 0)
+                            : new State(Status.CLOSED, current.failures() + 1, 0, 0);
+                    break;
+                default:
+                    next = new State(Status.OPEN, 0, now(), 0);
+            }
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    // A cancelled trial call must give its slot back, otherwise the breaker could stay half open forever
+    private void onCancel() {
+        while (true) {
+            State current = state.get();
+            if (current.status() != Status.HALF_OPEN || current.trialCalls() == 0) {
+                return;
+            }
+            State next = new State(Status.HALF_OPEN, 0, current.openedAt(), current.trialCalls() - 1);
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private long now() {
+        return clock.now(TimeUnit.NANOSECONDS);
+    }
+}
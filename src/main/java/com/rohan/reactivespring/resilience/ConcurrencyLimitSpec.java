@@ -0,0 +1,43 @@
+package com.rohan.reactivespring.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Settings for {@link ConcurrencyLimiter}.
+ */
+@Value
+@Builder
+public class ConcurrencyLimitSpec {
+
+    @Builder.Default
+    int initialLimit = 20;
+
+    @Builder.Default
+    int minLimit = 1;
+
+    @Builder.Default
+    int maxLimit = 200;
+
+    // The limit is multiplied by this when the dependency looks overloaded
+    @Builder.Default
+    double backoffRatio = 0.9;
+
+    // A call slower than tolerance times the lowest recent latency counts as overloaded
+    @Builder.Default
+    double latencyTolerance = 2.0;
+
+    // Recent latencies the lowest one is taken from
+    @Builder.Default
+    int window = 100;
+
+    // Calls waiting for a slot, past that they are rejected with OverloadedException
+    @Builder.Default
+    int maxQueue = 1000;
+
+    // Clock of the latency measurements
+    @Builder.Default
+    Scheduler scheduler = Schedulers.parallel();
+}
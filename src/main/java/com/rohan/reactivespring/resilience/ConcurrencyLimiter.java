@@ -0,0 +1,211 @@
+package com.rohan.reactivespring.resilience;
+
+import com.rohan.reactivespring.error.ErrorSite;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Adaptive limit on the calls in flight to a dependency (AIMD): every call that comes back in time raises the limit
+ * by 1 / limit, so roughly by one per round of calls, and a call that failed or took longer than
+ * {@code latencyTolerance} times the lowest recent latency multiplies it by {@code backoffRatio}. Only calls started
+ * after the last decrease can decrease it again, one slow burst doesn't collapse the limit.
+ * <p>
+ * Calls over the limit wait in a FIFO queue, nothing blocks, and past {@code maxQueue} they fail with
+ * {@link com.rohan.reactivespring.error.OverloadedException}. Errors count as overload, use it for calls whose
+ * errors are mostly timeouts and rejections rather than bad requests.
+ * <p>
+ * Usage: {@code flux.flatMap(item -> call(item).transform(limiter.mono()), Integer.MAX_VALUE)}, the flatMap no longer
+ * needs a concurrency of its own.
+ */
+public class ConcurrencyLimiter {
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+
+    private final String name;
+    private final ConcurrencyLimitSpec spec;
+    private final Scheduler clock;
+    private final ErrorSite site;
+    private final LatencyTracker latencies;
+    private final int refreshEvery;
+    private final ArrayDeque<Call<?>> waiting = new ArrayDeque<>();
+
+    // Guarded by this
+    private double limit;
+    private int inFlight;
+    private long baselineNanos;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+    private long rejected;
+
+    public ConcurrencyLimiter(String name, ConcurrencyLimitSpec spec) {
+        this.name = name;
+        this.spec = spec;
+        this.clock = spec.getScheduler();
+        this.site = ErrorSite.of("ConcurrencyLimiter " + name);
+        this.latencies = new LatencyTracker(spec.getWindow());
+        this.refreshEvery = Math.max(1, spec.getWindow() / 10);
+        this.limit = spec.getInitialLimit();
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> mono() {
+        return mono -> Mono.create(sink -> {
+            Call<T> call = new Call<>(mono, sink);
+            sink.onCancel(call::cancel);
+            submit(call);
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int waiting() {
+        return waiting.size();
+    }
+
+    public synchronized long rejected() {
+        return rejected;
+    }
+
+    private void submit(Call<?> call) {
+        synchronized (this) {
+            if (inFlight >= (int) limit) {
+                if (waiting.size() >= spec.getMaxQueue()) {
+                    rejected++;
+                    call.sink.error(site.overloaded());
+                } else {
+                    waiting.add(call);
+                }
+                return;
+            }
+            inFlight++;
+        }
+        if (!call.start()) {
+            release(0, false, false);
+        }
+    }
+
+    private void release(long startedAt, boolean sample, boolean overloaded) {
+        List<Call<?>> next = new ArrayList<>(1);
+        synchronized (this) {
+            inFlight--;
+            if (sample) {
+                adjust(startedAt, overloaded);
+            }
+            while (inFlight < (int) limit && !waiting.isEmpty()) {
+                inFlight++;
+                next.add(waiting.poll());
+            }
+        }
+        // Started outside the lock, a call may complete synchronously and come back here
+        for (Call<?> call : next) {
+            if (!call.start()) {
+                release(0, false, false);
+            }
+        }
+    }
+
+    // Called with the lock held
+    private void adjust(long startedAt, boolean failed) {
+        long now = clock.now(TimeUnit.NANOSECONDS);
+        long latency = now - startedAt;
+        latencies.record(latency);
+        if (baselineNanos == 0 || latencies.count() % refreshEvery == 0) {
+            baselineNanos = latencies.percentile(0);
+        }
+        boolean overloaded = failed || (baselineNanos > 0 && latency > spec.getLatencyTolerance() * baselineNanos);
+        if (!overloaded) {
+            limit = Math.min(spec.getMaxLimit(), limit + 1 / limit);
+        } else if (startedAt >= lastDecreaseNanos) {
+            limit = Math.max(spec.getMinLimit(), limit * spec.getBackoffRatio());
+            lastDecreaseNanos = now;
+        }
+    }
+
+    private synchronized void removeWaiting(Call<?> call) {
+        waiting.remove(call);
+    }
+
+    private final class Call<T> {
+
+        private final Mono<T> source;
+        private final MonoSink<T> sink;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private volatile Disposable running;
+        private volatile boolean cancelled;
+        private long startedAt;
+
+        Call(Mono<T> source, MonoSink<T> sink) {
+            this.source = source;
+            this.sink = sink;
+        }
+
+        // The caller took a slot for this call, false means it was cancelled while queued and the slot is free again
+        boolean start() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                return false;
+            }
+            startedAt = clock.now(TimeUnit.NANOSECONDS);
+            Disposable subscription = source.subscribe(
+                    value -> {
+                        if (finish(false)) {
+                            sink.success(value);
+                        }
+                    },
+                    error -> {
+                        if (finish(true)) {
+                            sink.error(error);
+                        }
+                    },
+                    () -> {
+                        if (finish(false)) {
+                            sink.success();
+                        }
+                    });
+            running = subscription;
+            if (cancelled) {
+                subscription.dispose(); // cancelled while subscribing
+            }
+            return true;
+        }
+
+        private boolean finish(boolean failed) {
+            if (!state.compareAndSet(RUNNING, DONE)) {
+                return false;
+            }
+            release(startedAt, true, failed);
+            return true;
+        }
+
+        void cancel() {
+            if (state.compareAndSet(QUEUED, DONE)) {
+                removeWaiting(this);
+            } else if (state.compareAndSet(RUNNING, DONE)) {
+                cancelled = true;
+                Disposable subscription = running;
+                if (subscription != null) {
+                    subscription.dispose();
+                }
+                release(0, false, false);
+            }
+        }
+    }
+}
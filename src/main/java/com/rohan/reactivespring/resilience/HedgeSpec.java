@@ -0,0 +1,51 @@
+package com.rohan.reactivespring.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link Hedging}.
+ */
+@Value
+@Builder
+public class HedgeSpec {
+
+    // A backup request starts once the primary is slower than this percentile of recent latencies
+    @Builder.Default
+    double percentile = 0.95;
+
+    // Backup requests per call, the n-th one starts after n times the hedge delay
+    @Builder.Default
+    int maxHedges = 1;
+
+    // Used until minSamples latencies were recorded
+    @Builder.Default
+    Duration initialDelay = Duration.ofMillis(50);
+
+    @Builder.Default
+    int minSamples = 100;
+
+    // Lower bound of the hedge delay, keeps a fast backend from being hedged on noise
+    @Builder.Default
+    Duration minDelay = Duration.ofMillis(1);
+
+    // Latencies kept to compute the percentile, it is recomputed every window / 10 calls
+    @Builder.Default
+    int window = 1000;
+
+    // Max backup requests as a fraction of calls, 0.05 caps the added load at 5%
+    @Builder.Default
+    double budgetRatio = 0.05;
+
+    // Backup requests that can be taken at once after a quiet period
+    @Builder.Default
+    int budgetBurst = 10;
+
+    // Used for the hedge delays and as the clock of the latency tracking
+    @Builder.Default
+    Scheduler scheduler = Schedulers.parallel();
+}
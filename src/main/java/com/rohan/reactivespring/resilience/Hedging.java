@@ -0,0 +1,170 @@
+package com.rohan.reactivespring.resilience;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Hedged requests for replicated backends: the primary request is sent right away and if it has not answered after
+ * the hedge delay a backup request is sent as well. The first answer wins, an empty one included, and the other
+ * requests are cancelled.
+ * <p>
+ * The hedge delay is a percentile of the primary's recent latencies, so only the slowest few percent of calls are
+ * hedged. Backups take a credit from the hedge budget, every call adds {@code budgetRatio} of a credit, which caps
+ * the added load even when the backend slows down as a whole. Without a credit the call just waits for the primary.
+ * A primary that fails fast doesn't end the call either, the backup still gets its chance at the hedge delay.
+ * <p>
+ * Usage: {@code mono.transform(hedging.mono())} to send the same request again, or
+ * {@code hedging.hedge(List.of(replicaA, replicaB))} to send backups to other replicas.
+ */
+public class Hedging {
+
+    private static final long CREDIT = 1000;
+
+    private final String name;
+    private final HedgeSpec spec;
+    private final Scheduler clock;
+    private final LatencyTracker latencies;
+    private final long creditPerCall;
+    private final long maxCredits;
+    private final long refreshEvery;
+    private final AtomicLong credits;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgesDenied = new AtomicLong();
+    private volatile long hedgeDelayNanos;
+
+    public Hedging(String name, HedgeSpec spec) {
+        if (spec.getMaxHedges() < 1) {
+            throw new IllegalArgumentException("maxHedges must be positive");
+        }
+        this.name = name;
+        this.spec = spec;
+        this.clock = spec.getScheduler();
+        this.latencies = new LatencyTracker(spec.getWindow());
+        this.creditPerCall = (long) (spec.getBudgetRatio() * CREDIT);
+        this.maxCredits = spec.getBudgetBurst() * CREDIT;
+        this.refreshEvery = Math.max(1, spec.getWindow() / 10);
+        this.credits = new AtomicLong(maxCredits);
+        this.hedgeDelayNanos = spec.getInitialDelay().toNanos();
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> mono() {
+        return mono -> hedge(List.of(mono));
+    }
+
+    /**
+     * Sends the first replica right away, backups go to the next replicas in turn.
+     */
+    public <T> Mono<T> hedge(List<? extends Mono<? extends T>> replicas) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("replicas must not be empty");
+        }
+        return Mono.defer(() -> {
+            long delay = hedgeDelay();
+            deposit();
+            // Results are wrapped so an empty answer counts as an answer, firstWithValue would wait for the backup
+            List<Mono<Optional<T>>> attempts = new ArrayList<>(spec.getMaxHedges() + 1);
+            attempts.add(answer(timed(replicas.get(0))));
+            for (int i = 1; i <= spec.getMaxHedges(); i++) {
+                Mono<? extends T> replica = replicas.get(i % replicas.size());
+                // Completes empty when the budget is out, firstWithValue then keeps waiting for the others
+                attempts.add(Mono.delay(Duration.ofNanos(delay * i), clock)
+                        .filter(tick -> tryWithdraw())
+                        .flatMap(tick -> answer(replica)));
+            }
+            return Mono.firstWithValue(attempts)
+                    .onErrorMap(NoSuchElementException.class, Hedging::firstFailure)
+                    .flatMap(Mono::justOrEmpty);
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long calls() {
+        return calls.get();
+    }
+
+    public long hedges() {
+        return hedges.get();
+    }
+
+    public long hedgesDenied() {
+        return hedgesDenied.get();
+    }
+
+    public long hedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    private static <T> Mono<Optional<T>> answer(Mono<? extends T> attempt) {
+        return attempt.map(Optional::<T>of).defaultIfEmpty(Optional.empty());
+    }
+
+    // Only the primary is timed, a cancelled primary still tells how long it took at least. Failures are left out,
+    // they are often fast and would pull the percentile down.
+    private <T> Mono<T> timed(Mono<T> primary) {
+        return Mono.defer(() -> {
+            long start = clock.now(TimeUnit.NANOSECONDS);
+            return primary.doFinally(signal -> {
+                if (signal != SignalType.ON_ERROR) {
+                    latencies.record(clock.now(TimeUnit.NANOSECONDS) - start);
+                }
+            });
+        });
+    }
+
+    private long hedgeDelay() {
+        long call = calls.incrementAndGet();
+        if (call % refreshEvery == 0 && latencies.count() >= spec.getMinSamples()) {
+            hedgeDelayNanos = Math.max(spec.getMinDelay().toNanos(), latencies.percentile(spec.getPercentile()));
+        }
+        return hedgeDelayNanos;
+    }
+
+    private void deposit() {
+        credits.getAndUpdate(c -> Math.min(maxCredits, c + creditPerCall));
+    }
+
+    private boolean tryWithdraw() {
+        long c;
+        do {
+            c = credits.get();
+            if (c < CREDIT) {
+                hedgesDenied.incrementAndGet();
+                return false;
+            }
+        } while (!credits.compareAndSet(c, c - CREDIT));
+        hedges.incrementAndGet();
+        return true;
+    }
+
+    // firstWithValue hides the errors behind a NoSuchElementException, the primary's error is the useful one
+    private static Throwable firstFailure(NoSuchElementException e) {
+        if (e.getCause() != null) {
+            for (Throwable cause : Exceptions.unwrapMultiple(e.getCause())) {
+                if (!(cause instanceof NoSuchElementException)) {
+                    return cause;
+                }
+            }
+        }
+        for (Throwable suppressed : e.getSuppressed()) {
+            if (!(suppressed instanceof NoSuchElementException)) {
+                return suppressed;
+            }
+        }
+        return e;
+    }
+}
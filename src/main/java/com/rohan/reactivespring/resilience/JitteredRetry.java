@@ -0,0 +1,69 @@
+package com.rohan.reactivespring.resilience;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exponential backoff with full jitter (a random delay between 0 and the capped exponential backoff), so clients
+ * that failed together don't all come back at the same instant.
+ * <p>
+ * Every retry takes a token from the shared retry budget, when it is empty the pipeline fails right away. A breaker
+ * that is open fails right away as well. In all cases the original exception is propagated, not a "retries
+ * exhausted" wrapper like {@code Retry.backoff} produces. When the breaker opens during the retries the last
+ * failure of the call is propagated, a {@link CallNotPermittedException} only when the breaker was already open at
+ * the first attempt.
+ */
+public class JitteredRetry extends Retry {
+
+    private final int maxRetries;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final TokenBucket budget;
+    private final Scheduler scheduler;
+
+    public JitteredRetry(int maxRetries, Duration baseBackoff, Duration maxBackoff, TokenBucket budget,
+                         Scheduler scheduler) {
+        this.maxRetries = maxRetries;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.budget = budget;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Publisher<?> generateCompanion(Flux<RetrySignal> retrySignals) {
+        return Flux.defer(() -> {
+            // Last failure of the call itself, a breaker that opened in between fails the retry with
+            // CallNotPermittedException, which must not hide it
+            AtomicReference<Throwable> lastFailure = new AtomicReference<>();
+            return retrySignals
+                    .map(RetrySignal::copy) // the signal instance is reused by the operator
+                    .concatMap(signal -> {
+                        Throwable failure = signal.failure();
+                        if (!(failure instanceof CallNotPermittedException)) {
+                            lastFailure.set(failure);
+                        }
+                        if (signal.totalRetries() >= maxRetries
+                                || failure instanceof CallNotPermittedException
+                                || !budget.tryAcquire()) {
+                            Throwable original = lastFailure.get();
+                            return Mono.error(original != null ? original : failure);
+                        }
+                        return Mono.delay(Duration.ofNanos(backoffNanos(signal.totalRetries())), scheduler);
+                    });
+        });
+    }
+
+    long backoffNanos(long attempt) {
+        long exponential = attempt >= 62 ? maxBackoffNanos : baseBackoffNanos << attempt;
+        long cap = exponential <= 0 ? maxBackoffNanos : Math.min(maxBackoffNanos, exponential);
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
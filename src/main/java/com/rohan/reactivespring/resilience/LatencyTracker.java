@@ -0,0 +1,52 @@
+package com.rohan.reactivespring.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ring of the last {@code window} latencies, lock free to record. Percentiles copy and sort the ring, so callers on
+ * a hot path should cache them instead of asking on every request.
+ */
+public final class LatencyTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public LatencyTracker(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.samples = new AtomicLongArray(window);
+    }
+
+    public void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+    }
+
+    /**
+     * Latencies recorded so far, including the ones that already left the window.
+     */
+    public long count() {
+        return recorded.get();
+    }
+
+    /**
+     * @param percentile between 0 and 1, e.g. 0.95
+     * @return the latency in nanos, 0 when nothing was recorded yet
+     */
+    public long percentile(double percentile) {
+        int size = (int) Math.min(recorded.get(), samples.length());
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, rank))];
+    }
+}
@@ -0,0 +1,34 @@
+package com.rohan.reactivespring.resilience;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out one {@link RateLimiter} and one {@link ConcurrencyLimiter} per dependency name, so every pipeline calling
+ * the same dependency counts against the same limits.
+ */
+@Component
+public class LimiterRegistry {
+
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrencyLimiter> concurrencyLimiters = new ConcurrentHashMap<>();
+
+    public RateLimiter rateLimiter(String name) {
+        return rateLimiter(name, RateLimitSpec.builder().build());
+    }
+
+    // The spec is only used the first time a name is seen
+    public RateLimiter rateLimiter(String name, RateLimitSpec spec) {
+        return rateLimiters.computeIfAbsent(name, n -> new RateLimiter(n, spec));
+    }
+
+    public ConcurrencyLimiter concurrencyLimiter(String name) {
+        return concurrencyLimiter(name, ConcurrencyLimitSpec.builder().build());
+    }
+
+    public ConcurrencyLimiter concurrencyLimiter(String name, ConcurrencyLimitSpec spec) {
+        return concurrencyLimiters.computeIfAbsent(name, n -> new ConcurrencyLimiter(n, spec));
+    }
+}
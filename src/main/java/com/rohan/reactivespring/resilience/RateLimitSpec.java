@@ -0,0 +1,31 @@
+package com.rohan.reactivespring.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link RateLimiter}.
+ */
+@Value
+@Builder
+public class RateLimitSpec {
+
+    @Builder.Default
+    double permitsPerSecond = 100;
+
+    // Calls that can start at once after a quiet period
+    @Builder.Default
+    int burst = 10;
+
+    // Calls that would have to wait longer than this are rejected with OverloadedException
+    @Builder.Default
+    Duration maxWait = Duration.ofSeconds(1);
+
+    // Used for the delays and as the clock of the bucket
+    @Builder.Default
+    Scheduler scheduler = Schedulers.parallel();
+}
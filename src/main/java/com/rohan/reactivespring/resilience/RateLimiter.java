@@ -0,0 +1,63 @@
+package com.rohan.reactivespring.resilience;
+
+import com.rohan.reactivespring.error.ErrorSite;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Limits the rate calls to a dependency are started at. A call that is over the rate is delayed on the scheduler
+ * until its token is due, no thread waits for it. Calls that would wait longer than {@code maxWait} fail right away
+ * with {@link com.rohan.reactivespring.error.OverloadedException}.
+ * <p>
+ * The token is reserved when the call is subscribed, so share one instance between all pipelines calling the
+ * dependency (see {@link LimiterRegistry}) to limit their total rate.
+ * <p>
+ * Usage: {@code flux.flatMap(item -> call(item).transform(rateLimiter.mono()))}
+ */
+public class RateLimiter {
+
+    private final String name;
+    private final TokenBucket bucket;
+    private final long maxWaitNanos;
+    private final RateLimitSpec spec;
+    private final ErrorSite site;
+
+    public RateLimiter(String name, RateLimitSpec spec) {
+        this.name = name;
+        this.bucket = new TokenBucket(spec.getPermitsPerSecond(), spec.getBurst(), spec.getScheduler());
+        this.maxWaitNanos = spec.getMaxWait().toNanos();
+        this.spec = spec;
+        this.site = ErrorSite.of("RateLimiter " + name);
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> mono() {
+        return mono -> Mono.defer(() -> {
+            long wait = bucket.reserve(maxWaitNanos);
+            if (wait < 0) {
+                return Mono.error(site.overloaded());
+            }
+            return wait == 0 ? mono : mono.delaySubscription(Duration.ofNanos(wait), spec.getScheduler());
+        });
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> flux() {
+        return flux -> Flux.defer(() -> {
+            long wait = bucket.reserve(maxWaitNanos);
+            if (wait < 0) {
+                return Flux.error(site.overloaded());
+            }
+            return wait == 0 ? flux : flux.delaySubscription(Duration.ofNanos(wait), spec.getScheduler());
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public TokenBucket bucket() {
+        return bucket;
+    }
+}
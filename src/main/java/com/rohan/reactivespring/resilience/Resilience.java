@@ -0,0 +1,52 @@
+package com.rohan.reactivespring.resilience;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Retry budget, jittered backoff and circuit breaker for one downstream dependency.
+ * <p>
+ * One instance is meant to be shared by every pipeline calling the dependency (see {@link ResilienceRegistry}),
+ * that is what keeps the total retry rate bounded during an outage instead of every subscriber retrying on its own.
+ * Each attempt goes through the breaker, so once it opens retries stop right away.
+ * <p>
+ * Usage: {@code mono.transform(resilience.mono())}
+ */
+public class Resilience {
+
+    private final String name;
+    private final TokenBucket retryBudget;
+    private final CircuitBreaker circuitBreaker;
+    private final JitteredRetry retry;
+
+    public Resilience(String name, ResilienceSpec spec) {
+        this.name = name;
+        this.retryBudget = new TokenBucket(spec.getRetryBudgetPerSecond(), spec.getRetryBudgetBurst(), spec.getScheduler());
+        this.circuitBreaker = new CircuitBreaker(name, spec.getFailureThreshold(), spec.getOpenDuration(),
+                spec.getHalfOpenCalls(), spec.getScheduler());
+        this.retry = new JitteredRetry(spec.getMaxRetries(), spec.getBaseBackoff(), spec.getMaxBackoff(), retryBudget,
+                spec.getScheduler());
+    }
+
+    public <T> Function<Mono<T>, Mono<T>> mono() {
+        return mono -> circuitBreaker.protect(mono).retryWhen(retry);
+    }
+
+    public <T> Function<Flux<T>, Flux<T>> flux() {
+        return flux -> circuitBreaker.protect(flux).retryWhen(retry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public TokenBucket retryBudget() {
+        return retryBudget;
+    }
+}
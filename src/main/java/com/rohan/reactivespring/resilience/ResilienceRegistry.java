@@ -0,0 +1,25 @@
+package com.rohan.reactivespring.resilience;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out one {@link Resilience} per dependency name, so pipelines calling the same dependency share its budget
+ * and breaker.
+ */
+@Component
+public class ResilienceRegistry {
+
+    private final Map<String, Resilience> resiliences = new ConcurrentHashMap<>();
+
+    public Resilience resilience(String name) {
+        return resilience(name, ResilienceSpec.builder().build());
+    }
+
+    // The spec is only used the first time a name is seen
+    public Resilience resilience(String name, ResilienceSpec spec) {
+        return resiliences.computeIfAbsent(name, n -> new Resilience(n, spec));
+    }
+}
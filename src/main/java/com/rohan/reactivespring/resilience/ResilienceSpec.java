@@ -0,0 +1,45 @@
+package com.rohan.reactivespring.resilience;
+
+import lombok.Builder;
+import lombok.Value;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@link Resilience}.
+ */
+@Value
+@Builder
+public class ResilienceSpec {
+
+    @Builder.Default
+    int maxRetries = 3;
+
+    @Builder.Default
+    Duration baseBackoff = Duration.ofMillis(100);
+
+    @Builder.Default
+    Duration maxBackoff = Duration.ofSeconds(5);
+
+    // Retries per second shared by every pipeline calling the dependency
+    @Builder.Default
+    double retryBudgetPerSecond = 10;
+
+    @Builder.Default
+    int retryBudgetBurst = 20;
+
+    @Builder.Default
+    int failureThreshold = 5;
+
+    @Builder.Default
+    Duration openDuration = Duration.ofSeconds(10);
+
+    @Builder.Default
+    int halfOpenCalls = 1;
+
+    // Used for backoff delays and as the clock of the budget and breaker
+    @Builder.Default
+    Scheduler scheduler = Schedulers.parallel();
+}
@@ -0,0 +1,67 @@
+package com.rohan.reactivespring.resilience;
+
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free token bucket, implemented as a generic cell rate algorithm: the whole state is the "theoretical arrival
+ * time" of the next token in a single AtomicLong, so taking a token is one CAS and there is no refill thread.
+ * <p>
+ * Time comes from {@link Scheduler#now(TimeUnit)}, which makes the bucket follow a VirtualTimeScheduler in tests.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Scheduler clock;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE / 2);
+
+    /**
+     * @param permitsPerSecond refill rate
+     * @param capacity         max tokens that can be taken at once after an idle period
+     */
+    public TokenBucket(double permitsPerSecond, int capacity, Scheduler clock) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("permitsPerSecond and capacity must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * capacity;
+        this.clock = clock;
+    }
+
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * Takes a token that may become available in the future.
+     *
+     * @return nanos to wait before the token may be used, 0 if it can be used right away, or -1 if the wait would be
+     * longer than {@code maxWaitNanos}, in which case nothing was taken
+     */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = clock.now(TimeUnit.NANOSECONDS);
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    /**
+     * Tokens that could be taken right now, only meant for metrics.
+     */
+    public long availableTokens() {
+        long now = clock.now(TimeUnit.NANOSECONDS);
+        long tat = Math.max(theoreticalArrival.get(), now);
+        return Math.max(0, (burstNanos - (tat - now)) / intervalNanos);
+    }
+}
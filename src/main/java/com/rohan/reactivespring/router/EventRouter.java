@@ -0,0 +1,24 @@
+package com.rohan.reactivespring.router;
+
+import com.rohan.reactivespring.handler.EventHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class EventRouter {
+
+    public static final String EVENTS = "/v1/events";
+    public static final String EVENTS_STREAM = "/v1/stream/events";
+
+    @Bean
+    public RouterFunction<ServerResponse> eventRoute(EventHandler eventHandler) {
+        return route(GET(EVENTS_STREAM), eventHandler::streamEvents)
+                .andRoute(POST(EVENTS), eventHandler::appendEvent);
+    }
+}
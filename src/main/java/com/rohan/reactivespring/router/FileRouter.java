@@ -0,0 +1,27 @@
+package com.rohan.reactivespring.router;
+
+import com.rohan.reactivespring.handler.FileHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class FileRouter {
+
+    public static final String FILES = "/v1/files";
+    public static final String BLOBS = "/v1/blobs";
+
+    @Bean
+    public RouterFunction<ServerResponse> fileRoute(FileHandler fileHandler) {
+        return route(PUT(FILES + "/{name}"), fileHandler::uploadFile)
+                .andRoute(GET(FILES + "/{name}"), fileHandler::downloadFile)
+                .andRoute(POST(BLOBS), fileHandler::uploadBlob)
+                .andRoute(GET(BLOBS + "/{id}"), fileHandler::downloadBlob);
+    }
+}
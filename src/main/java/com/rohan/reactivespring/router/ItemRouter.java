@@ -0,0 +1,23 @@
+package com.rohan.reactivespring.router;
+
+import com.rohan.reactivespring.handler.ItemStreamHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+public class ItemRouter {
+
+    public static final String ITEMS_STREAM = "/v1/stream/items";
+    public static final String ITEMS_STREAM_SSE = "/v1/stream/items/sse";
+
+    @Bean
+    public RouterFunction<ServerResponse> itemStreamRoute(ItemStreamHandler itemStreamHandler) {
+        return route(GET(ITEMS_STREAM), itemStreamHandler::streamItemsAsNdjson)
+                .andRoute(GET(ITEMS_STREAM_SSE), itemStreamHandler::streamItemsAsEvents);
+    }
+}
@@ -0,0 +1,50 @@
+package com.rohan.reactivespring.scheduler;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Default place to offload blocking calls (db drivers, legacy clients) from a reactive pipeline.
+ * <p>
+ * On a JDK with virtual threads every task gets its own virtual thread, so a sleeping call only parks a cheap
+ * virtual thread instead of pinning one of the N-cores workers of parallel(). On older JDKs (the build still targets
+ * 16) it falls back to boundedElastic(). The executor is looked up reflectively so the code compiles on both.
+ */
+public final class BlockingSchedulers {
+
+    private static final Scheduler VIRTUAL = createVirtualThreadScheduler();
+
+    private BlockingSchedulers() {
+    }
+
+    /**
+     * Scheduler for blocking sections: virtual threads when available, boundedElastic otherwise.
+     */
+    public static Scheduler blocking() {
+        return VIRTUAL != null ? VIRTUAL : Schedulers.boundedElastic();
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL != null;
+    }
+
+    private static Scheduler createVirtualThreadScheduler() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(
+                    java.util.concurrent.Executors.class,
+                    "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+            ExecutorService executor = (ExecutorService) factory.invoke();
+            // Not a trusted executor: it is never shut down by Reactor, virtual threads don't need pooling anyway
+            return Schedulers.fromExecutorService(executor, "virtual");
+        } catch (Throwable e) {
+            // JDK without virtual threads, or JDK 19/20 without --enable-preview
+            return null;
+        }
+    }
+}
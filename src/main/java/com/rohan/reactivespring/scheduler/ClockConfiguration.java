@@ -0,0 +1,14 @@
+package com.rohan.reactivespring.scheduler;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockConfiguration {
+
+    // Tests replace this bean with ReactiveClock.of(virtualTimeScheduler)
+    @Bean
+    public ReactiveClock reactiveClock() {
+        return ReactiveClock.system();
+    }
+}
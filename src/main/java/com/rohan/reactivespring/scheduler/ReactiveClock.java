@@ -0,0 +1,57 @@
+package com.rohan.reactivespring.scheduler;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Time source for production code: timestamps, delays and intervals all come from one Scheduler.
+ * <p>
+ * {@link #system()} looks up Schedulers.parallel() on every call instead of capturing it, so under
+ * {@code StepVerifier.withVirtualTime} it follows the virtual clock and a test can move time forward instead of
+ * sleeping. Tests that create their own VirtualTimeScheduler pass it to {@link #of(Scheduler)}.
+ */
+public final class ReactiveClock {
+
+    private static final ReactiveClock SYSTEM = new ReactiveClock(Schedulers::parallel);
+
+    private final Supplier<Scheduler> scheduler;
+
+    private ReactiveClock(Supplier<Scheduler> scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public static ReactiveClock system() {
+        return SYSTEM;
+    }
+
+    public static ReactiveClock of(Scheduler scheduler) {
+        return new ReactiveClock(() -> scheduler);
+    }
+
+    public Scheduler scheduler() {
+        return scheduler.get();
+    }
+
+    public long millis() {
+        return scheduler().now(TimeUnit.MILLISECONDS);
+    }
+
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    public Mono<Long> delay(Duration delay) {
+        return Mono.defer(() -> Mono.delay(delay, scheduler()));
+    }
+
+    public Flux<Long> interval(Duration period) {
+        return Flux.defer(() -> Flux.interval(period, scheduler()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.rohan.reactivespring.service;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Blobs in GridFS. Uploads are written chunk by chunk as the DataBuffers arrive, downloads are streamed chunk by
+ * chunk, the template releases the uploaded buffers once copied into a chunk.
+ */
+@Service
+public class BlobStore {
+
+    public record Blob(GridFSFile file, Flux<DataBuffer> content) {
+
+        public String contentType() {
+            return file.getMetadata() != null ? file.getMetadata().getString("_contentType") : null;
+        }
+    }
+
+    private final ReactiveGridFsTemplate gridFsTemplate;
+
+    public BlobStore(ReactiveGridFsTemplate gridFsTemplate) {
+        this.gridFsTemplate = gridFsTemplate;
+    }
+
+    public Mono<ObjectId> store(String filename, String contentType, Flux<DataBuffer> content) {
+        return gridFsTemplate.store(content, filename, contentType);
+    }
+
+    public Mono<Blob> find(ObjectId id) {
+        return gridFsTemplate.findOne(query(where("_id").is(id)))
+                .flatMap(file -> gridFsTemplate.getResource(file)
+                        .map(resource -> new Blob(file, resource.getDownloadStream())));
+    }
+}
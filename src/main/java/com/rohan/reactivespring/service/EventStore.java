@@ -0,0 +1,164 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.document.Event;
+import com.rohan.reactivespring.repository.EventReactiveRepository;
+import com.rohan.reactivespring.scheduler.ReactiveClock;
+import com.mongodb.MongoException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Event feed backed by a capped collection and tailable cursors.
+ * <p>
+ * {@link #feed(ObjectId)} is an infinite Flux, a client that reconnects passes the id of the last event it saw and
+ * only gets what came after it. Positions are the natural order of the collection, the order the server inserted
+ * the events in, so several processes can append. ObjectIds are generated by the clients and don't have to grow in
+ * that order.
+ * <p>
+ * Every event also gets a number from a counter document on append. A reconnecting client's cursor only asks the
+ * server for the events numbered from shortly before its last seen one, so the history is not sent to the
+ * application again.
+ * <p>
+ * A tailable cursor dies when the collection is empty and fails when it falls behind the capped window, in both
+ * cases the feed re-opens it after the last delivered event. Events that were overwritten before the feed got to
+ * them are lost, the feed goes on with the oldest event still there.
+ */
+@Service
+public class EventStore {
+
+    // CursorNotFound, CappedPositionLost, QueryPlanKilled, CursorKilled
+    private static final Set<Integer> CURSOR_LOST = Set.of(43, 136, 175, 237);
+
+    private static final String SEQUENCES = "sequences";
+    private static final String SEQ = "seq";
+
+    private final ReactiveMongoTemplate template;
+    private final EventReactiveRepository eventReactiveRepository;
+    private final EventStoreProperties properties;
+    private final ReactiveClock clock;
+
+    public EventStore(ReactiveMongoTemplate template, EventReactiveRepository eventReactiveRepository,
+                      EventStoreProperties properties, ReactiveClock clock) {
+        this.template = template;
+        this.eventReactiveRepository = eventReactiveRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates the capped collection if it does not exist yet, tailable cursors only work on capped collections.
+     */
+    public Mono<Void> createCollection() {
+        CollectionOptions options = CollectionOptions.empty()
+                .capped()
+                .size(properties.getCappedSizeBytes())
+                .maxDocuments(properties.getMaxDocuments());
+
+        return template.collectionExists(Event.class)
+                .flatMap(exists -> exists ? Mono.empty() : template.createCollection(Event.class, options))
+                .then();
+    }
+
+    public Mono<Event> append(String type, String payload) {
+        return nextSeq()
+                .flatMap(seq -> eventReactiveRepository.save(new Event(null, seq, type, payload, clock.instant())));
+    }
+
+    // One counter document per collection, $inc on it is atomic across processes
+    private Mono<Long> nextSeq() {
+        return template.findAndModify(Query.query(Criteria.where("_id").is(template.getCollectionName(Event.class))),
+                        new Update().inc(SEQ, 1L), FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        Document.class, SEQUENCES)
+                .map(counter -> counter.get(SEQ, Number.class).longValue());
+    }
+
+    /**
+     * Id of the most recently inserted event, empty when there is none.
+     */
+    public Mono<ObjectId> lastEventId() {
+        Query newest = new Query().with(Sort.by(Sort.Direction.DESC, "$natural")).limit(1);
+        return template.findOne(newest, Event.class)
+                .map(Event::getId);
+    }
+
+    /**
+     * Events appended from now on.
+     */
+    public Flux<Event> live() {
+        return lastEventId()
+                .map(AtomicReference::new)
+                .defaultIfEmpty(new AtomicReference<>())
+                .flatMapMany(this::tail);
+    }
+
+    /**
+     * @param lastEventId last id the client has seen, null for every event still in the collection
+     */
+    public Flux<Event> feed(ObjectId lastEventId) {
+        return Flux.defer(() -> tail(new AtomicReference<>(lastEventId)));
+    }
+
+    private Flux<Event> tail(AtomicReference<ObjectId> lastSeen) {
+        return Flux.defer(() -> resume(lastSeen.get()))
+                .doOnNext(event -> lastSeen.set(event.getId()))
+                .repeatWhen(completed -> completed.delayElements(properties.getReopenDelay(), clock.scheduler()))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, properties.getReopenDelay())
+                        .filter(EventStore::isCursorLost)
+                        .scheduler(clock.scheduler()));
+    }
+
+    // Known last seen event: the cursor starts a bit before it on the server and skips the overlap up to it. Unknown
+    // (overwritten meanwhile) or without a seq: the cursor starts at the oldest event and skips up to it if it is
+    // there. A tailable cursor on a non-empty collection stays open at the end, so this only happens when it is
+    // (re-)opened.
+    private Flux<Event> resume(ObjectId lastSeen) {
+        if (lastSeen == null) {
+            return eventReactiveRepository.findWithTailableCursorBy();
+        }
+        Flux<Event> scan = Flux.defer(() -> skipUpTo(lastSeen, eventReactiveRepository.findWithTailableCursorBy()));
+        return eventReactiveRepository.findById(lastSeen)
+                .filter(event -> event.getSeq() != null)
+                .map(event -> skipUpTo(lastSeen, tailFrom(event.getSeq() - properties.getResumeOverlap())))
+                .defaultIfEmpty(scan)
+                .flatMapMany(events -> events);
+    }
+
+    private Flux<Event> tailFrom(long seq) {
+        // Filtered by the server, only the overlap and what follows it is sent
+        return template.tail(new Query(Criteria.where(SEQ).gte(seq)), Event.class);
+    }
+
+    // Checked after the cursor read its first event: the collection is overwritten oldest first, so if the last seen
+    // event still exists then, the cursor is before it and will get to it
+    private Flux<Event> skipUpTo(ObjectId lastSeen, Flux<Event> cursor) {
+        return cursor.switchOnFirst((first, events) -> !first.hasValue()
+                ? events
+                : eventReactiveRepository.existsById(lastSeen)
+                .flatMapMany(found -> found
+                        ? events.skipUntil(event -> lastSeen.equals(event.getId())).skip(1)
+                        : events));
+    }
+
+    private static boolean isCursorLost(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongo && CURSOR_LOST.contains(mongo.getCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.rohan.reactivespring.service;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EventStoreInitializer implements ApplicationRunner {
+
+    private final EventStore eventStore;
+
+    public EventStoreInitializer(EventStore eventStore) {
+        this.eventStore = eventStore;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        eventStore.createCollection().block();
+    }
+}
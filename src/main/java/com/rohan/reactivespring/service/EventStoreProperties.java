@@ -0,0 +1,27 @@
+package com.rohan.reactivespring.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the capped events collection, bound from the events.* properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "events")
+public class EventStoreProperties {
+
+    private long cappedSizeBytes = 64L * 1024 * 1024;
+
+    private long maxDocuments = 100_000;
+
+    // Wait before re-opening a tailable cursor that died, e.g. because the collection was still empty
+    private Duration reopenDelay = Duration.ofMillis(100);
+
+    // A resuming cursor starts this many sequence numbers before the last seen event. Appenders in several processes
+    // may insert in a slightly different order than they drew their numbers, the overlap covers that.
+    private long resumeOverlap = 1000;
+}
@@ -0,0 +1,94 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.scheduler.BlockingSchedulers;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Files on local disk, read and written as streams of DataBuffers through AsynchronousFileChannel so no file is
+ * ever held in memory as a whole.
+ */
+@Service
+public class FileStore {
+
+    private static final Pattern VALID_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]{0,254}");
+
+    public record StoredFile(Path path, long size) {
+    }
+
+    private final FileStoreProperties properties;
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    public FileStore(FileStoreProperties properties) {
+        this.properties = properties;
+    }
+
+    // Plain names only, rules out path traversal like ../../etc/passwd
+    public static boolean isValidName(String name) {
+        return VALID_NAME.matcher(name).matches();
+    }
+
+    public Mono<StoredFile> find(String name) {
+        return Mono.fromCallable(() -> {
+            Path path = resolve(name);
+            return Files.isRegularFile(path) ? new StoredFile(path, Files.size(path)) : null;
+        }).subscribeOn(BlockingSchedulers.blocking());
+    }
+
+    public Flux<DataBuffer> read(Path path) {
+        return DataBufferUtils.readAsynchronousFileChannel(
+                () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ),
+                bufferFactory, properties.getBufferSize());
+    }
+
+    /**
+     * Writes to a temp file of its own first and moves it in place once complete, so readers never see half a file
+     * and concurrent uploads of the same name don't write into each other. The last one to complete wins.
+     *
+     * @return number of bytes written
+     */
+    public Mono<Long> write(String name, Flux<DataBuffer> content) {
+        Path target = resolve(name);
+        AtomicLong size = new AtomicLong();
+
+        Flux<DataBuffer> counted = content.doOnNext(buffer -> size.addAndGet(buffer.readableByteCount()));
+
+        Mono<Path> part = Mono.fromCallable(() -> {
+            Files.createDirectories(properties.getDirectory());
+            // Fixed prefix, a name of up to 255 chars plus the random suffix would go past the file name limit
+            return Files.createTempFile(properties.getDirectory(), "upload-", ".part");
+        }).subscribeOn(BlockingSchedulers.blocking());
+
+        // DataBufferUtils.write releases every buffer once it is on disk. The temp file is deleted whatever the
+        // outcome, including a cancelled upload, after a successful move there is nothing left to delete.
+        return Mono.usingWhen(part,
+                file -> DataBufferUtils.write(counted, file, StandardOpenOption.WRITE)
+                        .then(Mono.fromCallable(() -> {
+                            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING,
+                                    StandardCopyOption.ATOMIC_MOVE);
+                            return size.get();
+                        }).subscribeOn(BlockingSchedulers.blocking())),
+                file -> Mono.fromCallable(() -> Files.deleteIfExists(file))
+                        .subscribeOn(BlockingSchedulers.blocking()));
+    }
+
+    private Path resolve(String name) {
+        if (!isValidName(name)) {
+            throw new IllegalArgumentException("Invalid file name: " + name);
+        }
+        return properties.getDirectory().resolve(name);
+    }
+}
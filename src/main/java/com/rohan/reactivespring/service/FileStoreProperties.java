@@ -0,0 +1,21 @@
+package com.rohan.reactivespring.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the file endpoints, bound from the files.* properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "files")
+public class FileStoreProperties {
+
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "learn-reactive-spring", "files");
+
+    // Size of the DataBuffers read from disk, the most a single download holds in memory at once
+    private int bufferSize = 64 * 1024;
+}
@@ -0,0 +1,25 @@
+package com.rohan.reactivespring.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning of {@link ItemBulkIngestService}, bound from the ingest.* properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ingest")
+public class IngestProperties {
+
+    // A batch is written as soon as it has this many documents...
+    private int batchSize = 1000;
+
+    // ...or when this much time passed since its first document
+    private Duration maxWait = Duration.ofMillis(100);
+
+    // Max number of insertMany calls in flight, the source is not requested further while they are all busy
+    private int maxInFlight = 4;
+}
@@ -0,0 +1,63 @@
+package com.rohan.reactivespring.service;
+
+import com.mongodb.client.model.InsertManyOptions;
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.operators.DemandBatching;
+import com.rohan.reactivespring.scheduler.ReactiveClock;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a stream of items in batches instead of one save() round trip per document.
+ * <p>
+ * The incoming flux is cut into batches of batchSize, a batch is also written maxWait after its first item so a
+ * slow source still gets flushed, and each batch becomes one unordered insertMany. The batching respects demand:
+ * while maxInFlight inserts are pending the source is not read further, Reactor 3.4's bufferTimeout would fail
+ * instead when the timer fires. Unordered lets the server keep going past a failed document and apply the
+ * rest of the batch in any order.
+ */
+@Service
+public class ItemBulkIngestService {
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final ReactiveMongoTemplate template;
+    private final IngestProperties properties;
+    private final ReactiveClock clock;
+
+    public ItemBulkIngestService(ReactiveMongoTemplate template, IngestProperties properties, ReactiveClock clock) {
+        this.template = template;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * @return number of inserted documents, once the source completed and every batch was written
+     */
+    public Mono<Long> ingest(Flux<Item> items) {
+        return items
+                .transform(DemandBatching.bufferTimeout(properties.getBatchSize(), properties.getMaxWait(),
+                        clock.scheduler()))
+                .flatMap(this::insertBatch, properties.getMaxInFlight())
+                .reduce(0L, Long::sum);
+    }
+
+    Mono<Long> insertBatch(List<Item> batch) {
+        List<Document> documents = new ArrayList<>(batch.size());
+        for (Item item : batch) {
+            Document document = new Document();
+            template.getConverter().write(item, document);
+            documents.add(document);
+        }
+
+        return template.getCollection(template.getCollectionName(Item.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents, UNORDERED)))
+                .map(result -> (long) result.getInsertedIds().size());
+    }
+}
@@ -0,0 +1,25 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.cache.BatchLoader;
+import com.rohan.reactivespring.cache.BatchSpec;
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.repository.ItemReactiveRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Item lookups by id for flatMap style callers, concurrent lookups are sent to Mongo as one findAllById.
+ */
+@Service
+public class ItemLookupService {
+
+    private final BatchLoader<String, Item> loader;
+
+    public ItemLookupService(ItemReactiveRepository itemReactiveRepository) {
+        this.loader = new BatchLoader<>(itemReactiveRepository::findAllById, Item::getId, BatchSpec.builder().build());
+    }
+
+    public Mono<Item> findById(String id) {
+        return loader.load(id);
+    }
+}
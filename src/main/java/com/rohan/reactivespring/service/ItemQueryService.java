@@ -0,0 +1,46 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.document.ItemPrice;
+import com.rohan.reactivespring.query.Keyset;
+import com.rohan.reactivespring.query.KeysetPage;
+import com.rohan.reactivespring.query.QueryShape;
+import com.rohan.reactivespring.query.QueryShapes;
+import com.rohan.reactivespring.query.ReadQueries;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Item price listings, paged by price. Needs an index on {price: 1, _id: 1}, IndexVerifier warns at startup when
+ * it is missing.
+ */
+@Service
+public class ItemQueryService implements QueryShapes {
+
+    private static final String PRICE = "price";
+
+    private final ReadQueries readQueries;
+
+    public ItemQueryService(ReadQueries readQueries) {
+        this.readQueries = readQueries;
+    }
+
+    public Flux<ItemPrice> pricesBelow(double maxPrice) {
+        return readQueries.stream(Item.class, ItemPrice.class, new Query(Criteria.where(PRICE).lt(maxPrice)));
+    }
+
+    public Mono<KeysetPage<ItemPrice>> pageByPrice(Keyset after, int size) {
+        return readQueries.page(Item.class, ItemPrice.class, null, PRICE, after, size,
+                item -> new Keyset(item.price(), item.id()));
+    }
+
+    @Override
+    public List<QueryShape> queryShapes() {
+        return List.of(new QueryShape("item", List.of(), List.of(PRICE, "_id")));
+    }
+}
@@ -0,0 +1,31 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.document.Item;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streams the whole items collection without loading it.
+ * <p>
+ * The cursor batch size and limitRate keep the amount of documents read ahead of the subscriber bounded, the
+ * driver only issues the next getMore once the previous batch has been requested downstream.
+ */
+@Service
+public class ItemStreamService {
+
+    private final ReactiveMongoTemplate template;
+    private final StreamProperties properties;
+
+    public ItemStreamService(ReactiveMongoTemplate template, StreamProperties properties) {
+        this.template = template;
+        this.properties = properties;
+    }
+
+    public Flux<Item> streamAll() {
+        Query query = new Query().cursorBatchSize(properties.getCursorBatchSize());
+        return template.find(query, Item.class)
+                .limitRate(properties.getLimitRate());
+    }
+}
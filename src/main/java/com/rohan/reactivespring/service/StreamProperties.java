@@ -0,0 +1,20 @@
+package com.rohan.reactivespring.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Demand settings of the streaming endpoints, bound from the stream.* properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "stream")
+public class StreamProperties {
+
+    // Documents the Mongo cursor fetches per getMore
+    private int cursorBatchSize = 256;
+
+    // Max outstanding demand towards the cursor, replenished as the HTTP response is written
+    private int limitRate = 256;
+}
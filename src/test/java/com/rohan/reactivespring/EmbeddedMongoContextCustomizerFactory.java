@@ -0,0 +1,92 @@
+package com.rohan.reactivespring;
+
+import de.flapdoodle.embed.mongo.MongodExecutable;
+import de.flapdoodle.embed.mongo.MongodStarter;
+import de.flapdoodle.embed.mongo.config.MongodConfig;
+import de.flapdoodle.embed.mongo.config.Net;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.process.runtime.Network;
+import org.springframework.boot.autoconfigure.mongo.embedded.EmbeddedMongoAutoConfiguration;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.test.context.ContextConfigurationAttributes;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.ContextCustomizerFactory;
+import org.springframework.test.context.MergedContextConfiguration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One embedded mongod per test JVM on a free port, shared by every Spring test context of that JVM, with a
+ * database per test class.
+ * <p>
+ * Gradle runs the test classes in several forks (maxParallelForks), each fork starts its own mongod once instead of
+ * Spring Boot starting one per application context. The mongod is only started when a context actually reads the
+ * Mongo uri, so web slice tests don't pay for it. Registered in META-INF/spring.factories.
+ */
+public class EmbeddedMongoContextCustomizerFactory implements ContextCustomizerFactory {
+
+    private static MongodExecutable mongod;
+    private static int port;
+
+    @Override
+    public ContextCustomizer createContextCustomizer(Class<?> testClass,
+                                                     List<ContextConfigurationAttributes> configAttributes) {
+        return new DatabasePerClass(testClass.getSimpleName());
+    }
+
+    // Part of the context cache key, so every test class gets an application context of its own: the cache only
+    // saves the startup of a context within a class, never across classes. That is the price of a database per
+    // class, paid once per class on top of the shared mongod.
+    record DatabasePerClass(String database) implements ContextCustomizer {
+
+        private static final String EXCLUDE = "spring.autoconfigure.exclude";
+
+        @Override
+        public void customizeContext(ConfigurableApplicationContext context, MergedContextConfiguration config) {
+            ConfigurableEnvironment environment = context.getEnvironment();
+            // Added first so it wins over a uri in application.properties, the exclusions of the test are kept
+            List<String> exclusions = new ArrayList<>(Binder.get(environment)
+                    .bind(EXCLUDE, Bindable.listOf(String.class))
+                    .orElse(List.of()));
+            exclusions.add(EmbeddedMongoAutoConfiguration.class.getName());
+            String exclude = String.join(",", exclusions);
+
+            environment.getPropertySources().addFirst(new PropertySource<>("embeddedMongo", database) {
+                @Override
+                public Object getProperty(String name) {
+                    return switch (name) {
+                        case "spring.data.mongodb.uri" -> "mongodb://localhost:" + mongodPort() + "/" + database;
+                        case EXCLUDE -> exclude;
+                        default -> null;
+                    };
+                }
+            });
+        }
+    }
+
+    private static synchronized int mongodPort() {
+        if (mongod == null) {
+            try {
+                port = Network.getFreeServerPort();
+                MongodConfig config = MongodConfig.builder()
+                        .version(Version.Main.PRODUCTION)
+                        .net(new Net(port, Network.localhostIsIPv6()))
+                        .build();
+                MongodExecutable executable = MongodStarter.getDefaultInstance().prepare(config);
+                executable.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(executable::stop, "embedded-mongo-shutdown"));
+                mongod = executable;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded mongod", e);
+            }
+        }
+        return port;
+    }
+}
@@ -0,0 +1,98 @@
+package com.rohan.reactivespring.aggregation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Isolated // withVirtualTime replaces the global schedulers
+public class WindowAggregationTest {
+
+    record Click(String user, long at) {
+    }
+
+    static WindowAggregation<Click, String, long[], Long> counting(WindowSpec window) {
+        return WindowAggregation.of(window, Click::user, Click::at, Aggregators.counting());
+    }
+
+    @Test
+    public void tumblingWindowsFireWhenWatermarkPassesTheirEnd() {
+        Flux<Click> clicks = Flux.just(new Click("a", 1), new Click("a", 5), new Click("b", 3), new Click("a", 12));
+
+        StepVerifier.create(counting(WindowSpec.tumbling(Duration.ofMillis(10))).aggregate(clicks).collectList())
+                .consumeNextWith(results -> assertEquals(Set.of(
+                        new WindowResult<>("a", 0L, 10L, 2L, false),
+                        new WindowResult<>("b", 0L, 10L, 1L, false),
+                        new WindowResult<>("a", 10L, 20L, 1L, false)), Set.copyOf(results)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void slidingWindowsCountEventsInEveryOverlappingWindow() {
+        Flux<Click> clicks = Flux.just(new Click("a", 7), new Click("a", 12));
+
+        StepVerifier.create(counting(WindowSpec.sliding(Duration.ofMillis(10), Duration.ofMillis(5))).aggregate(clicks))
+                .expectNext(new WindowResult<>("a", 0L, 10L, 1L, false))
+                .expectNext(new WindowResult<>("a", 5L, 15L, 2L, false))
+                .expectNext(new WindowResult<>("a", 10L, 20L, 1L, false))
+                .verifyComplete();
+    }
+
+    @Test
+    public void sessionsCloseAfterInactivityGap() {
+        Flux<Click> clicks = Flux.just(new Click("a", 0), new Click("a", 8), new Click("a", 30));
+
+        StepVerifier.create(counting(WindowSpec.session(Duration.ofMillis(10))).aggregate(clicks))
+                .expectNext(new WindowResult<>("a", 0L, 18L, 2L, false))
+                .expectNext(new WindowResult<>("a", 30L, 40L, 1L, false))
+                .verifyComplete();
+    }
+
+    @Test
+    public void outOfOrderEventMergesTwoSessions() {
+        Flux<Click> clicks = Flux.just(new Click("a", 0), new Click("a", 15), new Click("a", 7));
+
+        StepVerifier.create(counting(WindowSpec.session(Duration.ofMillis(10)))
+                        .withMaxOutOfOrderness(Duration.ofMillis(20))
+                        .aggregate(clicks))
+                .expectNext(new WindowResult<>("a", 0L, 25L, 3L, false))
+                .verifyComplete();
+    }
+
+    @Test
+    public void lateEventsUpdateWindowUntilAllowedLatenessThenAreDropped() {
+        Flux<Click> clicks = Flux.just(
+                new Click("a", 1),
+                new Click("a", 12), // watermark 12 fires [0, 10)
+                new Click("a", 5),  // late but within lateness
+                new Click("a", 25), // watermark 25 fires [10, 20) and cleans up [0, 10)
+                new Click("a", 3)); // too late, dropped
+
+        StepVerifier.create(counting(WindowSpec.tumbling(Duration.ofMillis(10)))
+                        .withAllowedLateness(Duration.ofMillis(10))
+                        .aggregate(clicks))
+                .expectNext(new WindowResult<>("a", 0L, 10L, 1L, false))
+                .expectNext(new WindowResult<>("a", 0L, 10L, 2L, true))
+                .expectNext(new WindowResult<>("a", 10L, 20L, 1L, false))
+                .expectNext(new WindowResult<>("a", 20L, 30L, 1L, false))
+                .verifyComplete();
+    }
+
+    @Test
+    public void idleTimeoutFiresWindowsOfAQuietSource() {
+        StepVerifier.withVirtualTime(() -> counting(WindowSpec.tumbling(Duration.ofMillis(10)))
+                        .withIdleTimeout(Duration.ofSeconds(1))
+                        .aggregate(Flux.just(new Click("a", 1)).concatWith(Flux.never())))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(999))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext(new WindowResult<>("a", 0L, 10L, 1L, false))
+                .thenCancel()
+                .verify();
+    }
+}
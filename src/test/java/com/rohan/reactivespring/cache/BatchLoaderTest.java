@@ -0,0 +1,108 @@
+package com.rohan.reactivespring.cache;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BatchLoaderTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    // Pretend store holding the even keys only, the value is the key as a string
+    BatchLoader<Integer, String> loader(int maxBatchSize) {
+        return new BatchLoader<>(this::findAll, Integer::valueOf, BatchSpec.builder()
+                .maxBatchSize(maxBatchSize)
+                .maxDelay(Duration.ofMillis(1))
+                .scheduler(scheduler)
+                .build());
+    }
+
+    Flux<String> findAll(Collection<Integer> keys) {
+        batches.add(List.copyOf(keys));
+        return Flux.fromIterable(keys)
+                .filter(key -> key % 2 == 0)
+                .map(String::valueOf);
+    }
+
+    @Test
+    public void lookupsWithinTheDelayShareOneQuery() {
+        BatchLoader<Integer, String> loader = loader(100);
+
+        StepVerifier.create(Flux.range(0, 10).flatMapSequential(loader::load))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(1)))
+                .expectNext("0", "2", "4", "6", "8")
+                .verifyComplete();
+
+        assertEquals(List.of(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)), batches);
+    }
+
+    @Test
+    public void fullBatchIsSentWithoutWaiting() {
+        BatchLoader<Integer, String> loader = loader(4);
+
+        StepVerifier.create(Flux.range(0, 10).flatMap(loader::load))
+                .expectNextCount(4) // two full batches of 4
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(1)))
+                .expectNextCount(1) // 8, the last batch waited for the delay
+                .verifyComplete();
+
+        assertEquals(List.of(List.of(0, 1, 2, 3), List.of(4, 5, 6, 7), List.of(8, 9)), batches);
+    }
+
+    @Test
+    public void sameKeyIsQueriedOnce() {
+        BatchLoader<Integer, String> loader = loader(100);
+
+        StepVerifier.create(Flux.just(2, 2, 2).flatMap(loader::load))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(1)))
+                .expectNext("2", "2", "2")
+                .verifyComplete();
+
+        assertEquals(List.of(List.of(2)), batches);
+    }
+
+    @Test
+    public void failedQueryFailsEveryLookupOfTheBatch() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(
+                keys -> Flux.error(new RuntimeException("Mongo down")), Integer::valueOf,
+                BatchSpec.builder().scheduler(scheduler).build());
+
+        StepVerifier.create(Flux.just(1, 2).flatMap(key -> loader.load(key).onErrorReturn("failed")))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(1)))
+                .expectNext("failed", "failed")
+                .verifyComplete();
+    }
+
+    @Test
+    public void throwingBatchFunctionFailsEveryLookupOfTheBatch() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(keys -> {
+            throw new IllegalStateException("No connection");
+        }, Integer::valueOf, BatchSpec.builder().scheduler(scheduler).build());
+
+        // Dispatched by the timer, nobody but the lookups can see the exception
+        StepVerifier.create(Flux.just(1, 2).flatMap(key -> loader.load(key).onErrorReturn("failed")))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(1)))
+                .expectNext("failed", "failed")
+                .verifyComplete();
+    }
+
+    @Test
+    public void throwingKeyOfFailsTheLookupsStillWaiting() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(this::findAll, value -> {
+            throw new NumberFormatException(value);
+        }, BatchSpec.builder().maxBatchSize(2).scheduler(scheduler).build());
+
+        StepVerifier.create(Flux.just(2, 4).flatMap(key -> loader.load(key).onErrorReturn("failed")))
+                .expectNext("failed", "failed")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,93 @@
+package com.rohan.reactivespring.cache;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SingleFlightCacheTest {
+
+    AtomicInteger loads = new AtomicInteger();
+    AtomicLong nanos = new AtomicLong();
+
+    CacheSpec spec = CacheSpec.builder()
+            .refreshAfter(Duration.ofSeconds(10))
+            .expireAfter(Duration.ofSeconds(60))
+            .ticker(nanos::get)
+            .executor(Runnable::run)
+            .build();
+
+    @Test
+    public void concurrentReadsShareOneLoad() {
+        Sinks.One<String> backend = Sinks.one();
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(key -> {
+            loads.incrementAndGet();
+            return backend.asMono();
+        }, spec);
+
+        Flux<String> reads = Flux.range(0, 100)
+                .flatMap(i -> cache.get("meliodas"));
+
+        StepVerifier.create(reads)
+                .expectSubscription()
+                .then(() -> backend.tryEmitValue("MELIODAS"))
+                .expectNextCount(100)
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void staleEntryIsServedWhileRefreshing() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(
+                key -> Mono.fromSupplier(() -> key + "-" + loads.incrementAndGet()), spec);
+
+        StepVerifier.create(cache.get("king"))
+                .expectNext("king-1")
+                .verifyComplete();
+
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        // Old value right away, the reload happens behind it
+        StepVerifier.create(cache.get("king"))
+                .expectNext("king-1")
+                .verifyComplete();
+        StepVerifier.create(cache.get("king"))
+                .expectNext("king-2")
+                .verifyComplete();
+    }
+
+    @Test
+    public void expiredEntryIsLoadedAgain() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(
+                key -> Mono.fromSupplier(() -> key + "-" + loads.incrementAndGet()), spec);
+
+        cache.get("bahn").block();
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+
+        StepVerifier.create(cache.get("bahn"))
+                .expectNext("bahn-2")
+                .verifyComplete();
+    }
+
+    @Test
+    public void failedLoadIsNotCached() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(key -> loads.incrementAndGet() == 1
+                ? Mono.error(new RuntimeException("Exception occurred"))
+                : Mono.just(key), spec);
+
+        StepVerifier.create(cache.get("estrosa"))
+                .expectError(RuntimeException.class)
+                .verify();
+        StepVerifier.create(cache.get("estrosa"))
+                .expectNext("estrosa")
+                .verifyComplete();
+    }
+}
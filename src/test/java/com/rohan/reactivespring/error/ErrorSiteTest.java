@@ -0,0 +1,55 @@
+package com.rohan.reactivespring.error;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ErrorSiteTest {
+
+    ErrorSite site = ErrorSite.of("ItemHandler.getItem");
+
+    @Test
+    public void reactiveExceptionsHaveNoStackTrace() {
+        OverloadedException overloaded = new OverloadedException("test");
+        overloaded.addSuppressed(new RuntimeException("ignored"));
+
+        assertEquals(0, overloaded.getStackTrace().length);
+        assertEquals(0, overloaded.getSuppressed().length);
+    }
+
+    @Test
+    public void overloadedIsPreallocated() {
+        assertSame(site.overloaded(), site.overloaded());
+        assertEquals("ItemHandler.getItem", site.overloaded().getSite());
+        assertTrue(site.overloaded().toString().endsWith("[at ItemHandler.getItem]"));
+    }
+
+    @Test
+    public void markWrapsErrorsWithoutSite() {
+        IllegalStateException cause = new IllegalStateException("Exception occurred");
+
+        StepVerifier.create(Mono.error(cause).transform(site.mark()))
+                .expectErrorSatisfies(e -> {
+                    UpstreamException upstream = (UpstreamException) e;
+                    assertEquals("ItemHandler.getItem", upstream.getSite());
+                    assertSame(cause, upstream.getCause());
+                    assertEquals("Exception occurred", upstream.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    public void markKeepsErrorsThatKnowTheirSite() {
+        OverloadedException overloaded = ErrorSite.of("ItemHandler.saveItem").overloaded();
+
+        StepVerifier.create(Flux.just("A").concatWith(Flux.error(overloaded)).transform(site.markFlux()))
+                .expectNext("A")
+                .expectErrorMatches(e -> e == overloaded)
+                .verify();
+    }
+}
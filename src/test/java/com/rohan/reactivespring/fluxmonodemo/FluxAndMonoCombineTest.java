@@ -1,12 +1,14 @@
 package com.rohan.reactivespring.fluxmonodemo;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
 
 // Combining multiple publisher
+@Isolated // withVirtualTime replaces the global schedulers
 public class FluxAndMonoCombineTest {
 
     @Test
@@ -31,20 +33,19 @@ public class FluxAndMonoCombineTest {
     @Test
     public void combineUsingMergeAnDelay() {
 
-        Flux<String> flux1 = Flux.just("A", "B", "C").delayElements(Duration.ofSeconds(1));
-        Flux<String> flux2 = Flux.just("D", "E", "F").delayElements(Duration.ofSeconds(1));
-
         // In reality we might have 2 different db calls or external service call and would like to merge it
-
-        Flux<String> mergedFlux = Flux.merge(flux1, flux2)
-                .log();
-
-        // Expect subscription is the first event
-        // Here merged fluxes wont give the order in sequence due to delay and the result will be actually interleaved
-        // eg A THEN D, B THEN E, C THEN F
-
-        StepVerifier.create(mergedFlux)
+        // Virtual time, the delays cost no real time
+        StepVerifier.withVirtualTime(() -> {
+                    Flux<String> flux1 = Flux.just("A", "B", "C").delayElements(Duration.ofSeconds(1));
+                    Flux<String> flux2 = Flux.just("D", "E", "F").delayElements(Duration.ofSeconds(1));
+                    return Flux.merge(flux1, flux2)
+                            .log();
+                })
+                // Expect subscription is the first event
+                // Here merged fluxes wont give the order in sequence due to delay and the result will be actually
+                // interleaved eg A THEN D, B THEN E, C THEN F
                 .expectSubscription()
+                .thenAwait(Duration.ofSeconds(3)) // both run at the same time, 3 seconds for all 6
 //                .expectNext("A", "B", "C", "D", "E", "F")  // Error due to interleaved
                 .expectNextCount(6)
                 .verifyComplete();
@@ -68,19 +69,20 @@ public class FluxAndMonoCombineTest {
     @Test
     public void combineUsingConcatAnDelay() {
 
-        Flux<String> flux1 = Flux.just("A", "B", "C").delayElements(Duration.ofSeconds(1));
-        Flux<String> flux2 = Flux.just("D", "E", "F").delayElements(Duration.ofSeconds(1));
-
         // In reality we might have 2 different db calls or external service call and would like to merge it
-
-        Flux<String> mergedFlux = Flux.concat(flux1, flux2)
-                .log();
-
-        // Concat will wait for the uppler flux for things to be available before printing
-
-        StepVerifier.create(mergedFlux)
+        StepVerifier.withVirtualTime(() -> {
+                    Flux<String> flux1 = Flux.just("A", "B", "C").delayElements(Duration.ofSeconds(1));
+                    Flux<String> flux2 = Flux.just("D", "E", "F").delayElements(Duration.ofSeconds(1));
+                    return Flux.concat(flux1, flux2)
+                            .log();
+                })
+                // Concat will wait for the uppler flux for things to be available before printing
                 .expectSubscription()
-                .expectNext("A", "B", "C", "D", "E", "F")
+                .thenAwait(Duration.ofSeconds(3))
+                .expectNext("A", "B", "C")
+                .expectNoEvent(Duration.ofSeconds(1).minusMillis(1)) // flux2 only starts after flux1 completed
+                .thenAwait(Duration.ofSeconds(3))
+                .expectNext("D", "E", "F")
 //                .expectNextCount(6)
                 .verifyComplete();
     }
@@ -1,12 +1,14 @@
 package com.rohan.reactivespring.fluxmonodemo;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
 
+@Isolated // withVirtualTime replaces the global schedulers
 public class FluxAndMonoErrorTest {
 
     @Test
@@ -107,16 +109,16 @@ public class FluxAndMonoErrorTest {
     public void fluxErrorHandling_withRetryBackOff() { // Like dB is not available due to connection issue, so we might need some
 
         // Assign exception to another type
-        Flux<String> stringFlux = Flux.just("A", "B", "C")
-                .concatWith(Flux.error(new RuntimeException("Exception occurred")))
-                .concatWith(Flux.just("D"))
-                .onErrorMap(CustomException::new)
-                .retryWhen(Retry.backoff(2, Duration.ofSeconds(5)))
-                .log();
-
-        StepVerifier.create(stringFlux)
+        // The backoff runs on parallel(), which withVirtualTime replaces, so the 5s and 10s waits take no real time
+        StepVerifier.withVirtualTime(() -> Flux.just("A", "B", "C")
+                        .concatWith(Flux.error(new RuntimeException("Exception occurred")))
+                        .concatWith(Flux.just("D"))
+                        .onErrorMap(CustomException::new)
+                        .retryWhen(Retry.backoff(2, Duration.ofSeconds(5)))
+                        .log())
                 .expectSubscription() // Expect subscription from flux
                 .expectNext("A", "B", "C")
+                .thenAwait(Duration.ofSeconds(30)) // longer than both backoffs including jitter
                 .expectNext("A", "B", "C")
                 .expectNext("A", "B", "C")
                 .expectError(IllegalStateException.class)// Time sensitive returns illegal not custom one
@@ -1,57 +1,52 @@
 package com.rohan.reactivespring.fluxmonodemo;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
 
+// withVirtualTime swaps the schedulers for a virtual clock, thenAwait moves that clock forward instead of sleeping
+@Isolated // withVirtualTime replaces the global schedulers
 public class FluxAndMonoTimeTest {
 
     @Test
-    public void infiniteSequence() throws InterruptedException {
-        Flux<Long> infiniteFlux = Flux.interval(Duration.ofMillis(200))
-                .log(); // start from 0  ----> ........ infinite
-
-        infiniteFlux.subscribe(element -> System.out.println("Value is " + element));
-
-        // Uncomment below and the function will complete as subscribe is just registering a callback and values are not
-        // emitted yet
-        // Emission of flux happens in separate threads
-        // And this test case runs in main thread
-
-        Thread.sleep(3000);
+    public void infiniteSequence() {
+        // Emission of flux happens in separate threads, previously this test slept 3 seconds to see the values
+        StepVerifier.withVirtualTime(() -> Flux.interval(Duration.ofMillis(200))
+                        .log()) // start from 0  ----> ........ infinite
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(3))
+                .expectNextCount(15)
+                .thenCancel() // infinite, so cancel instead of waiting for completion
+                .verify();
     }
 
     @Test
-    public void infiniteSequenceWithoutSleep() throws InterruptedException {
-        Flux<Long> finiteFlux = Flux.interval(Duration.ofMillis(200))
-                .take(3)
-                .log();
-
-        StepVerifier.create(finiteFlux)
+    public void infiniteSequenceWithoutSleep() {
+        StepVerifier.withVirtualTime(() -> Flux.interval(Duration.ofMillis(200))
+                        .take(3)
+                        .log())
                 .expectSubscription()
+                .thenAwait(Duration.ofMillis(600))
                 .expectNext(0L, 1L, 2L)
-                .verifyComplete(); // Verify complete is like a subscribe call equivalent to line 16
+                .verifyComplete(); // Verify complete is like a subscribe call
         // Actual flow start after verifyComplete is executed
     }
 
-
-
     @Test
-    public void infiniteSequenceMapWithoutSleep() throws InterruptedException {
-        Flux<Integer> finiteFlux = Flux.interval(Duration.ofMillis(200))
-                .delayElements(Duration.ofSeconds(1))
-                .map(Long::intValue)
-                .take(3)
-                .log();
-
-        StepVerifier.create(finiteFlux)
+    public void infiniteSequenceMapWithoutSleep() {
+        StepVerifier.withVirtualTime(() -> Flux.interval(Duration.ofMillis(200))
+                        .delayElements(Duration.ofSeconds(1))
+                        .map(Long::intValue)
+                        .take(3)
+                        .log())
                 .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(1100)) // first value needs 200ms + 1s delay
+                .thenAwait(Duration.ofSeconds(3))
                 .expectNext(0, 1, 2)
-                .verifyComplete(); // Verify complete is like a subscribe call equivalent to line 16
+                .verifyComplete(); // Verify complete is like a subscribe call
         // Actual flow start after verifyComplete is executed
     }
-
-
 }
@@ -1,14 +1,18 @@
 package com.rohan.reactivespring.fluxmonodemo;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
 import static reactor.core.scheduler.Schedulers.parallel;
 
+@Isolated // withVirtualTime replaces the global schedulers
 public class FluxAndMonoTransformTest {
 
     List<String> names = List.of("meliodas", "estrosa", "bahn", "king");
@@ -68,12 +72,13 @@ public class FluxAndMonoTransformTest {
     @Test
     public void transformUsingFlatMap() {
         // A flat is specific use case, when you want to call db or external element for every flux element.
-        Flux<String> stringFlux = Flux.fromIterable(List.of("A", "B", "C", "D", "E", "F"))
-                .flatMap(s -> Flux.fromIterable(convertToList(s)))  // A -> List[A, newValue], B -> List[B, newValue]
-                .log();
-
-        // For each and every element we get 2 elements due to convertToList
-        StepVerifier.create(stringFlux)
+        // Each call takes 1 second, flatMap runs them all at once, virtual time skips the wait
+        StepVerifier.withVirtualTime(() -> Flux.fromIterable(List.of("A", "B", "C", "D", "E", "F"))
+                        .flatMap(s -> convertToList(s).flatMapIterable(list -> list))  // A -> List[A, newValue]
+                        .log())
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                // For each and every element we get 2 elements due to convertToList
                 .expectNextCount(12)
                 .verifyComplete();
     }
@@ -82,16 +87,16 @@ public class FluxAndMonoTransformTest {
     @Test
     public void transformUsingFlatMapAndParallel() {
         // A flat is specific use case, when you want to call db or external element for every flux element.
-        Flux<String> stringFlux = Flux.fromIterable(List.of("A", "B", "C", "D", "E", "F"))
-                // Instead of passing element 1 by 1, it passes 2 elements. Now flux would wait until we have 2 elements
-                // at a time and then pass to next layer, (a,B) -> (c,d) -> (e,f); Flux<Flux<String>
-                .window(2)
-                .flatMap(s -> s.map(this::convertToList).subscribeOn(parallel()))
-                .flatMap(Flux::fromIterable)
-                .log();
-
-        // For each and every element we get 2 elements due to convertToList
-        StepVerifier.create(stringFlux)
+        StepVerifier.withVirtualTime(() -> Flux.fromIterable(List.of("A", "B", "C", "D", "E", "F"))
+                        // Instead of passing element 1 by 1, it passes 2 elements. Now flux would wait until we have 2
+                        // elements at a time and then pass to next layer, (a,B) -> (c,d) -> (e,f); Flux<Flux<String>
+                        .window(2)
+                        .flatMap(s -> s.concatMap(this::convertToList).subscribeOn(parallel()))
+                        .flatMap(Flux::fromIterable)
+                        .log())
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(2)) // 3 windows in parallel, 2 calls each
+                // For each and every element we get 2 elements due to convertToList
                 .expectNextCount(12)
                 .verifyComplete();
     }
@@ -101,19 +106,19 @@ public class FluxAndMonoTransformTest {
     public void transformUsingFlatMapAndParallelAndMaintainOrderUsingConcatMap() {
         // 2 approaches, 1. concatMap it maintains order, but it will take complete time which in our case would be 6seconds
 
-
         // A flat is specific use case, when you want to call db or external element for every flux element.
-        Flux<String> stringFlux = Flux.fromIterable(List.of("A", "B", "C", "D", "E", "F"))
-                // Instead of passing element 1 by 1, it passes 2 elements. Now flux would wait until we have 2 elements
-                // at a time and then pass to next layer, (a,B) -> (c,d) -> (e,f); Flux<Flux<String>
-                .window(2)
-                .concatMap(s -> s.map(this::convertToList).subscribeOn(parallel()))
-                .flatMap(Flux::fromIterable)
-                .log();
-
-        // For each and every element we get 2 elements due to convertToList
-        StepVerifier.create(stringFlux)
-                .expectNextCount(12)
+        StepVerifier.withVirtualTime(() -> Flux.fromIterable(List.of("A", "B", "C", "D", "E", "F"))
+                        // Instead of passing element 1 by 1, it passes 2 elements. Now flux would wait until we have 2
+                        // elements at a time and then pass to next layer, (a,B) -> (c,d) -> (e,f); Flux<Flux<String>
+                        .window(2)
+                        .concatMap(s -> s.concatMap(this::convertToList).subscribeOn(parallel()))
+                        .flatMap(Flux::fromIterable)
+                        .log())
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(2))
+                .expectNextCount(4) // only the first window is done
+                .thenAwait(Duration.ofSeconds(4))
+                .expectNextCount(8)
                 .verifyComplete();
     }
 
@@ -123,26 +128,24 @@ public class FluxAndMonoTransformTest {
         // 2 approaches, 2.flatMapSequential
 
         // A flat is specific use case, when you want to call db or external element for every flux element.
-        Flux<String> stringFlux = Flux.fromIterable(List.of("A", "B", "C", "D", "E", "F"))
-                // Instead of passing element 1 by 1, it passes 2 elements. Now flux would wait until we have 2 elements
-                // at a time and then pass to next layer, (a,B) -> (c,d) -> (e,f); Flux<Flux<String>
-                .window(2)
-                .flatMapSequential(s -> s.map(this::convertToList).subscribeOn(parallel()))
-                .flatMap(Flux::fromIterable)
-                .log();
-
-        // For each and every element we get 2 elements due to convertToList
-        StepVerifier.create(stringFlux)
-                .expectNextCount(12)
+        StepVerifier.withVirtualTime(() -> Flux.fromIterable(List.of("A", "B", "C", "D", "E", "F"))
+                        // Instead of passing element 1 by 1, it passes 2 elements. Now flux would wait until we have 2
+                        // elements at a time and then pass to next layer, (a,B) -> (c,d) -> (e,f); Flux<Flux<String>
+                        .window(2)
+                        .flatMapSequential(s -> s.concatMap(this::convertToList).subscribeOn(parallel()))
+                        .flatMap(Flux::fromIterable)
+                        .log())
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(2)) // parallel like flatMap, but in order
+                .expectNext("A", "newValue", "B", "newValue", "C", "newValue")
+                .expectNext("D", "newValue", "E", "newValue", "F", "newValue")
                 .verifyComplete();
     }
 
-    private List<String> convertToList(String s) {
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        return Arrays.asList(s, "newValue");
+    // Stands in for a 1 second remote call. Used to Thread.sleep, which no virtual clock can skip, Mono.delay runs
+    // on parallel() which withVirtualTime replaces
+    private Mono<List<String>> convertToList(String s) {
+        return Mono.delay(Duration.ofSeconds(1))
+                .thenReturn(Arrays.asList(s, "newValue"));
     }
 }
@@ -0,0 +1,90 @@
+package com.rohan.reactivespring.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Fuseable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SampledLogTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SampledLogTest.class);
+
+    @AfterEach
+    public void enableAgain() {
+        SampledLog.setEnabled(true);
+    }
+
+    @Test
+    public void sampledLogPassesElementsThrough() {
+        Flux<String> stringFlux = Flux.just("Spring", "Spring Boot", "Reactive Spring")
+                .transform(SampledLog.sampled("test", 2));
+
+        StepVerifier.create(stringFlux)
+                .expectNext("Spring", "Spring Boot", "Reactive Spring")
+                .verifyComplete();
+    }
+
+    @Test
+    public void sampledLogKeepsFusion() {
+        // Same source as HowDoesFluxWorks.loggingFluxOnlyCompTest, it must still be fused after the log operator
+        Flux<String> stringFlux = Flux.just("Spring", "Spring Boot", "Reactive Spring")
+                .transform(SampledLog.sampled("test", 2));
+
+        StepVerifier.create(stringFlux)
+                .expectFusion(Fuseable.SYNC)
+                .expectNext("Spring", "Spring Boot", "Reactive Spring")
+                .verifyComplete();
+    }
+
+    @Test
+    public void sampledLogCanBeSwitchedOff() {
+        // Not started, so everything recorded stays in the ring
+        AsyncLogRing ring = new AsyncLogRing(16);
+        SampledLog.setEnabled(false);
+
+        Flux<Integer> numbersFlux = Flux.range(1, 5)
+                .transform(SampledLog.sampled("test", 1, ring));
+
+        assertFalse(SampledLog.isEnabled());
+        StepVerifier.create(numbersFlux)
+                .expectNext(1, 2, 3, 4, 5)
+                .verifyComplete();
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    public void sampledLogRecordsAboutOneInNOnNext() {
+        AsyncLogRing ring = new AsyncLogRing(16384);
+
+        StepVerifier.create(Flux.range(0, 100_000).transform(SampledLog.sampled("test", 10, ring)))
+                .expectNextCount(100_000)
+                .verifyComplete();
+
+        // 10k expected onNext (standard deviation ~95) plus the onComplete, which is never sampled out
+        assertEquals(0, ring.dropped());
+        assertTrue(ring.size() > 9_000 && ring.size() < 11_000, "recorded " + ring.size());
+    }
+
+    @Test
+    public void ringDropsWhenFullAndDrainsInOrder() {
+        AsyncLogRing ring = new AsyncLogRing(4);
+
+        for (int i = 0; i < 6; i++) {
+            ring.offer(new LogEvent(LOGGER, SignalType.ON_NEXT, i, "main"));
+        }
+
+        assertEquals(4, ring.size());
+        assertEquals(2, ring.dropped());
+        assertEquals(4, ring.drain());
+        assertEquals(0, ring.size());
+        assertTrue(ring.offer(new LogEvent(LOGGER, SignalType.ON_COMPLETE, null, "main")));
+    }
+}
@@ -0,0 +1,137 @@
+package com.rohan.reactivespring.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PipelineMetricsTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    PipelineMetrics pipelineMetrics = new PipelineMetrics(registry);
+
+    @Test
+    public void countsElementsDemandAndCompletion() {
+        Flux<Integer> numbersFlux = Flux.range(1, 5)
+                .transform(pipelineMetrics.instrument("numbers"));
+
+        StepVerifier.create(numbersFlux, 2)
+                .expectNext(1, 2)
+                .thenRequest(3)
+                .expectNext(3, 4, 5)
+                .verifyComplete();
+
+        assertEquals(5, registry.get("reactor.pipeline.onnext").tag("pipeline", "numbers").counter().count());
+        assertEquals(2, registry.get("reactor.pipeline.requested").tag("pipeline", "numbers").summary().count());
+        assertEquals(5, registry.get("reactor.pipeline.requested").tag("pipeline", "numbers").summary().totalAmount());
+        assertEquals(1, registry.get("reactor.pipeline.first.element").tag("pipeline", "numbers").timer().count());
+        assertEquals(1, registry.get("reactor.pipeline.duration").tags("pipeline", "numbers", "status", "completed")
+                .timer().count());
+    }
+
+    @Test
+    public void countsErrorsAndRetries() {
+        // Same shape as FluxAndMonoErrorTest.fluxErrorHandling_withRetry
+        Flux<String> stringFlux = Flux.just("A", "B", "C")
+                .concatWith(Flux.error(new RuntimeException()))
+                .transform(pipelineMetrics.instrument("letters"))
+                .retryWhen(pipelineMetrics.countRetries("letters", Retry.max(2)));
+
+        StepVerifier.create(stringFlux)
+                .expectNext("A", "B", "C")
+                .expectNext("A", "B", "C")
+                .expectNext("A", "B", "C")
+                .expectError(RuntimeException.class)
+                .verify();
+
+        assertEquals(2, registry.get("reactor.pipeline.retries").tag("pipeline", "letters").counter().count());
+        assertEquals(3, registry.get("reactor.pipeline.errors").tags("pipeline", "letters", "exception", "RuntimeException")
+                .counter().count());
+        assertEquals(9, registry.get("reactor.pipeline.onnext").tag("pipeline", "letters").counter().count());
+    }
+
+    @Test
+    public void instrumentsMono() {
+        Mono<String> mono = Mono.just("meliodas")
+                .transform(pipelineMetrics.instrumentMono("lookup"));
+
+        StepVerifier.create(mono)
+                .expectNext("meliodas")
+                .verifyComplete();
+
+        assertEquals(1, registry.get("reactor.pipeline.duration").tags("pipeline", "lookup", "status", "completed")
+                .timer().count());
+    }
+
+    @Test
+    public void cancelRacingCompletionTerminatesOnce() throws Exception {
+        int runs = 200;
+        AtomicLong received = new AtomicLong();
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            for (int run = 0; run < runs; run++) {
+                AtomicReference<Subscription> subscription = new AtomicReference<>();
+                Flux.range(0, 2000)
+                        .transform(pipelineMetrics.instrument("race"))
+                        .subscribe(new CoreSubscriber<Integer>() {
+                            @Override
+                            public void onSubscribe(Subscription s) {
+                                subscription.set(s);
+                            }
+
+                            @Override
+                            public void onNext(Integer value) {
+                                received.incrementAndGet();
+                            }
+
+                            @Override
+                            public void onError(Throwable t) {
+                            }
+
+                            @Override
+                            public void onComplete() {
+                            }
+                        });
+
+                // The producer completes on one thread while a client disconnect cancels on the other
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> produce = threads.submit(() -> {
+                    start.await();
+                    subscription.get().request(Long.MAX_VALUE);
+                    return null;
+                });
+                Future<?> cancel = threads.submit(() -> {
+                    start.await();
+                    subscription.get().cancel();
+                    return null;
+                });
+                start.countDown();
+                produce.get(5, TimeUnit.SECONDS);
+                cancel.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        // Recorded as either completed or cancelled, never both
+        long terminations = registry.find("reactor.pipeline.duration").tag("pipeline", "race")
+                .timers().stream().mapToLong(Timer::count).sum();
+        assertEquals(runs, terminations);
+        assertEquals(received.get(), registry.get("reactor.pipeline.onnext").tag("pipeline", "race").counter().count());
+    }
+}
@@ -0,0 +1,119 @@
+package com.rohan.reactivespring.numeric;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChunkFluxTest {
+
+    @Test
+    public void rangeIsChunked() {
+        // Same numbers as FluxAndMonoFactoryTest.fluxUsingRange, in chunks of 2
+        Flux<int[]> chunks = IntChunkFlux.range(1, 5, 2).chunks();
+
+        StepVerifier.create(chunks)
+                .assertNext(chunk -> assertArrayEquals(new int[]{1, 2}, chunk))
+                .assertNext(chunk -> assertArrayEquals(new int[]{3, 4}, chunk))
+                .assertNext(chunk -> assertArrayEquals(new int[]{5}, chunk))
+                .verifyComplete();
+    }
+
+    @Test
+    public void mapFilterAndBackToFlux() {
+        Flux<Integer> numbersFlux = IntChunkFlux.range(1, 10, 3)
+                .map(i -> i * 10)
+                .filter(i -> i % 20 == 0)
+                .toFlux();
+
+        StepVerifier.create(numbersFlux)
+                .expectNext(20, 40, 60, 80, 100)
+                .verifyComplete();
+    }
+
+    @Test
+    public void filterDropsEmptyChunks() {
+        Flux<int[]> chunks = IntChunkFlux.range(1, 6, 2)
+                .filter(i -> i > 4)
+                .chunks();
+
+        StepVerifier.create(chunks)
+                .assertNext(chunk -> assertArrayEquals(new int[]{5, 6}, chunk))
+                .verifyComplete();
+    }
+
+    @Test
+    public void reduceAndSum() {
+        StepVerifier.create(IntChunkFlux.range(1, 100, 7).sum())
+                .expectNext(5050L)
+                .verifyComplete();
+
+        StepVerifier.create(IntChunkFlux.range(1, 5, 2).reduce(1, (a, b) -> a * b))
+                .expectNext(120)
+                .verifyComplete();
+    }
+
+    @Test
+    public void windowAggregateCrossesChunkBoundaries() {
+        // Windows of 4 over chunks of 3: [1,2,3,4] [5,6,7,8] and the partial [9,10]
+        Flux<Integer> sums = IntChunkFlux.range(1, 10, 3)
+                .windowAggregate(4, 0, Integer::sum)
+                .toFlux();
+
+        StepVerifier.create(sums)
+                .expectNext(10, 26, 19)
+                .verifyComplete();
+    }
+
+    @Test
+    public void windowAggregateCanBeSubscribedTwice() {
+        LongChunkFlux sums = LongChunkFlux.range(0, 6, 4)
+                .windowAggregate(3, 0L, Long::sum);
+
+        StepVerifier.create(sums.toFlux())
+                .expectNext(3L, 12L)
+                .verifyComplete();
+        StepVerifier.create(sums.toFlux())
+                .expectNext(3L, 12L)
+                .verifyComplete();
+    }
+
+    @Test
+    public void longsFromInterval() {
+        // FluxAndMonoTimeTest boxes every tick, here they are boxed once at the edge and then chunked
+        Flux<Long> ticks = Flux.interval(Duration.ofMillis(1)).take(6);
+
+        StepVerifier.create(LongChunkFlux.fromFlux(ticks, 4).map(l -> l * 2).sum())
+                .expectNext(30L)
+                .verifyComplete();
+    }
+
+    @Test
+    public void doubles() {
+        DoubleChunkFlux prices = DoubleChunkFlux.fromFlux(Flux.just(1.5, 2.5, 3.0, 4.0), 3);
+
+        StepVerifier.create(prices.filter(d -> d > 2).map(d -> d * 2).sum())
+                .expectNext(19.0)
+                .verifyComplete();
+    }
+
+    @Test
+    public void chunkAndWindowSizesMustBePositive() {
+        // 0 used to divide by zero, a negative size to allocate a negative array
+        assertThrows(IllegalArgumentException.class, () -> IntChunkFlux.range(1, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> IntChunkFlux.fromFlux(Flux.just(1), -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> IntChunkFlux.range(1, 10, 2).windowAggregate(0, 0, Integer::sum));
+        assertThrows(IllegalArgumentException.class, () -> LongChunkFlux.range(1, 10, -2));
+        assertThrows(IllegalArgumentException.class, () -> LongChunkFlux.fromFlux(Flux.just(1L), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> LongChunkFlux.range(1, 10, 2).windowAggregate(-1, 0, Long::sum));
+        assertThrows(IllegalArgumentException.class, () -> DoubleChunkFlux.fromFlux(Flux.just(1.0), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> DoubleChunkFlux.fromFlux(Flux.just(1.0), 1).windowAggregate(0, 0, Double::sum));
+    }
+}
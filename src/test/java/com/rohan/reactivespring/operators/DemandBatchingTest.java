@@ -0,0 +1,48 @@
+package com.rohan.reactivespring.operators;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+
+public class DemandBatchingTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+    @Test
+    public void fullBatchesAndRest() {
+        StepVerifier.create(Flux.range(1, 5).transform(DemandBatching.bufferTimeout(2, Duration.ofSeconds(1), scheduler)))
+                .expectNext(List.of(1, 2), List.of(3, 4), List.of(5))
+                .verifyComplete();
+    }
+
+    @Test
+    public void timerClosesPartialBatch() {
+        Flux<Integer> slow = Flux.range(1, 3).delayElements(Duration.ofMillis(400), scheduler);
+
+        StepVerifier.create(slow.transform(DemandBatching.bufferTimeout(10, Duration.ofMillis(500), scheduler)))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(900)))
+                .expectNext(List.of(1, 2))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(300)))
+                .expectNext(List.of(3))
+                .verifyComplete();
+    }
+
+    @Test
+    public void timerWithoutDemandWaitsInsteadOfFailing() {
+        Flux<Integer> slow = Flux.range(1, 3).delayElements(Duration.ofMillis(100), scheduler)
+                .concatWith(Flux.never());
+
+        // [1, 2] uses up the only request, the timer of the batch holding 3 fires without demand
+        StepVerifier.create(slow.transform(DemandBatching.bufferTimeout(10, Duration.ofMillis(150), scheduler)), 1)
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                .expectNext(List.of(1, 2))
+                .thenRequest(1)
+                .expectNext(List.of(3))
+                .thenCancel()
+                .verify();
+    }
+}
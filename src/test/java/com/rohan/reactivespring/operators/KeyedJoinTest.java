@@ -0,0 +1,107 @@
+package com.rohan.reactivespring.operators;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class KeyedJoinTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    TestPublisher<String> orders = TestPublisher.create();
+    TestPublisher<String> payments = TestPublisher.create();
+
+    KeyedJoin<String, String, String, String> join(JoinSpec.Type type, int maxStateSize) {
+        JoinSpec spec = JoinSpec.builder()
+                .type(type)
+                .window(Duration.ofMinutes(1))
+                .maxStateSize(maxStateSize)
+                .scheduler(scheduler)
+                .build();
+        return KeyedJoin.of(Function.identity(), Function.identity(), (order, payment) -> order + "+" + payment, spec);
+    }
+
+    @Test
+    public void matchesAreEmittedAsSoonAsBothSidesArrive() {
+        KeyedJoin<String, String, String, String> join = join(JoinSpec.Type.INNER, 100);
+
+        StepVerifier.create(join.join(orders.flux(), payments.flux()))
+                .then(() -> orders.next("A", "B"))
+                .then(() -> payments.next("B"))
+                .expectNext("B+B")
+                .then(() -> payments.next("A"))
+                .expectNext("A+A")
+                .then(() -> assertEquals(4, join.stateSize()))
+                .then(() -> {
+                    orders.complete();
+                    payments.complete();
+                })
+                .verifyComplete();
+
+        assertEquals(0, join.stateSize());
+    }
+
+    @Test
+    public void elementsOutsideTheWindowDoNotMatch() {
+        KeyedJoin<String, String, String, String> join = join(JoinSpec.Type.INNER, 100);
+
+        StepVerifier.create(join.join(orders.flux(), payments.flux()))
+                .then(() -> orders.next("A"))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMinutes(2)))
+                .then(() -> payments.next("A"))
+                .expectNoEvent(Duration.ofMillis(10))
+                .then(() -> assertEquals(1, join.stateSize()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    public void leftJoinEmitsUnmatchedLeftWhenItExpires() {
+        KeyedJoin<String, String, String, String> join = join(JoinSpec.Type.LEFT, 100);
+
+        StepVerifier.create(join.join(orders.flux(), payments.flux()))
+                .then(() -> orders.next("A", "B"))
+                .then(() -> payments.next("B"))
+                .expectNext("B+B")
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMinutes(1)))
+                .expectNext("A+null")
+                .then(() -> assertEquals(0, join.stateSize()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    public void leftJoinFlushesUnmatchedOnCompletion() {
+        KeyedJoin<String, String, String, String> join = join(JoinSpec.Type.LEFT, 100);
+
+        StepVerifier.create(join.join(orders.flux(), payments.flux()))
+                .then(() -> orders.next("A"))
+                .then(() -> {
+                    orders.complete();
+                    payments.complete();
+                })
+                .expectNext("A+null")
+                .verifyComplete();
+    }
+
+    @Test
+    public void stateIsBoundedByEvictingTheOldest() {
+        KeyedJoin<String, String, String, String> join = join(JoinSpec.Type.INNER, 2);
+
+        StepVerifier.create(join.join(orders.flux(), payments.flux()))
+                .then(() -> orders.next("A", "B", "C"))
+                .then(() -> payments.next("A"))
+                .then(() -> payments.next("C"))
+                .expectNext("C+C")
+                .then(() -> assertEquals(2, join.stateSize()))
+                .thenCancel()
+                .verify();
+
+        assertEquals(3, join.evictedEarly());
+    }
+}
@@ -0,0 +1,182 @@
+package com.rohan.reactivespring.operators;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PushBridgeTest {
+
+    // immediate() drains on the calling thread, which keeps these tests deterministic
+    PushBridge<Integer> bridge(BridgeSpec.Overflow overflow, Duration blockTimeout) {
+        return new PushBridge<>(BridgeSpec.builder()
+                .capacity(2)
+                .overflow(overflow)
+                .blockTimeout(blockTimeout)
+                .scheduler(Schedulers.immediate())
+                .build());
+    }
+
+    @Test
+    public void dropLatestRejectsWhatDoesNotFit() {
+        PushBridge<Integer> bridge = bridge(BridgeSpec.Overflow.DROP_LATEST, Duration.ZERO);
+
+        StepVerifier.create(bridge.asFlux(), 0)
+                .then(() -> {
+                    assertTrue(bridge.push(1));
+                    assertTrue(bridge.push(2));
+                    assertFalse(bridge.push(3));
+                    assertEquals(2, bridge.depth());
+                })
+                .thenRequest(3)
+                .expectNext(1, 2)
+                .then(bridge::complete)
+                .verifyComplete();
+
+        assertEquals(1, bridge.dropped());
+    }
+
+    @Test
+    public void dropOldestKeepsTheNewest() {
+        PushBridge<Integer> bridge = bridge(BridgeSpec.Overflow.DROP_OLDEST, Duration.ZERO);
+
+        StepVerifier.create(bridge.asFlux(), 0)
+                .then(() -> {
+                    assertTrue(bridge.push(1));
+                    assertTrue(bridge.push(2));
+                    assertTrue(bridge.push(3));
+                })
+                .thenRequest(3)
+                .expectNext(2, 3)
+                .then(bridge::complete)
+                .verifyComplete();
+
+        assertEquals(1, bridge.dropped());
+    }
+
+    @Test
+    public void dropOldestBoundsTheQueueForAnUnboundedSlowSubscriber() throws InterruptedException {
+        Scheduler scheduler = Schedulers.newSingle("bridge-test");
+        PushBridge<Integer> bridge = new PushBridge<>(BridgeSpec.builder()
+                .capacity(16)
+                .overflow(BridgeSpec.Overflow.DROP_OLDEST)
+                .scheduler(scheduler)
+                .build());
+        AtomicInteger received = new AtomicInteger();
+        bridge.asFlux().subscribe(value -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            received.incrementAndGet();
+        });
+
+        for (int i = 0; i < 10_000; i++) {
+            bridge.push(i);
+        }
+        // Two more elements make sure the drain loop polled again after the last push
+        int seen = received.get();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (received.get() < seen + 2) {
+            assertTrue(System.nanoTime() < deadline, "subscriber did not receive anything within 5s");
+            Thread.sleep(1);
+        }
+
+        assertTrue(bridge.depth() <= 16, "depth " + bridge.depth());
+        assertTrue(bridge.dropped() > 0);
+        scheduler.dispose();
+    }
+
+    @Test
+    public void errorPolicyFailsTheFlux() {
+        PushBridge<Integer> bridge = bridge(BridgeSpec.Overflow.ERROR, Duration.ZERO);
+
+        StepVerifier.create(bridge.asFlux(), 0)
+                .then(() -> {
+                    bridge.push(1);
+                    bridge.push(2);
+                    assertFalse(bridge.push(3));
+                })
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify();
+    }
+
+    @Test
+    public void blockWaitsForTheSubscriberToMakeRoom() {
+        PushBridge<Integer> bridge = bridge(BridgeSpec.Overflow.BLOCK, Duration.ofSeconds(5));
+        CompletableFuture<Boolean>[] blocked = new CompletableFuture[1];
+
+        StepVerifier.create(bridge.asFlux(), 0)
+                .then(() -> {
+                    bridge.push(1);
+                    bridge.push(2);
+                    blocked[0] = CompletableFuture.supplyAsync(() -> bridge.push(3));
+                })
+                .thenRequest(1)
+                .expectNext(1)
+                .then(() -> assertTrue(blocked[0].join()))
+                .thenRequest(2)
+                .expectNext(2, 3)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    public void blockGivesUpAfterTimeout() {
+        PushBridge<Integer> bridge = bridge(BridgeSpec.Overflow.BLOCK, Duration.ofMillis(10));
+        bridge.push(1);
+        bridge.push(2);
+
+        assertFalse(bridge.push(3));
+        assertEquals(1, bridge.dropped());
+    }
+
+    @Test
+    public void concurrentProducersLoseNothingWithBlock() {
+        PushBridge<Integer> bridge = new PushBridge<>(BridgeSpec.builder()
+                .capacity(64)
+                .overflow(BridgeSpec.Overflow.BLOCK)
+                .blockTimeout(Duration.ofSeconds(10))
+                .build());
+        ExecutorService producers = Executors.newFixedThreadPool(8);
+
+        StepVerifier.create(bridge.asFlux().limitRate(16))
+                .then(() -> {
+                    CompletableFuture<?>[] done = new CompletableFuture[8];
+                    for (int p = 0; p < 8; p++) {
+                        done[p] = CompletableFuture.runAsync(() -> {
+                            for (int i = 0; i < 10_000; i++) {
+                                bridge.push(i);
+                            }
+                        }, producers);
+                    }
+                    CompletableFuture.allOf(done).thenRun(bridge::complete);
+                })
+                .expectNextCount(80_000)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+        producers.shutdown();
+        assertEquals(0, bridge.dropped());
+    }
+
+    @Test
+    public void onlyOneSubscriber() {
+        PushBridge<Integer> bridge = bridge(BridgeSpec.Overflow.DROP_LATEST, Duration.ZERO);
+        bridge.asFlux().subscribe();
+
+        StepVerifier.create(bridge.asFlux())
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+}
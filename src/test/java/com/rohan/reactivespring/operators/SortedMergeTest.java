@@ -0,0 +1,96 @@
+package com.rohan.reactivespring.operators;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+@Isolated // withVirtualTime replaces the global schedulers
+public class SortedMergeTest {
+
+    @Test
+    public void mergeKeepsGlobalOrder() {
+        Flux<Integer> merged = SortedMerge.mergeSorted(Comparator.naturalOrder(), List.of(
+                Flux.just(1, 4, 7),
+                Flux.just(2, 5, 8),
+                Flux.just(3, 6, 9)));
+
+        StepVerifier.create(merged)
+                .expectNext(1, 2, 3, 4, 5, 6, 7, 8, 9)
+                .verifyComplete();
+    }
+
+    @Test
+    public void mergeWaitsForSlowerSource() {
+        // The same sources as combineUsingMergeAnDelay, merge would emit A, B, C first
+        StepVerifier.withVirtualTime(() -> SortedMerge.mergeSorted(Comparator.<String>naturalOrder(), List.of(
+                        Flux.just("B", "D", "F").delayElements(Duration.ofSeconds(1)),
+                        Flux.just("A", "C", "E").delayElements(Duration.ofSeconds(3)))))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(3))
+                .expectNext("A")
+                .thenAwait(Duration.ofSeconds(3))
+                .expectNext("B", "C")
+                .thenAwait(Duration.ofSeconds(3))
+                .expectNext("D", "E", "F")
+                .verifyComplete();
+    }
+
+    @Test
+    public void mergeHonoursDemand() {
+        Flux<Integer> merged = SortedMerge.mergeSorted(Comparator.naturalOrder(), 2, List.of(
+                Flux.range(0, 100).map(i -> i * 2),
+                Flux.range(0, 100).map(i -> i * 2 + 1)));
+
+        StepVerifier.create(merged, 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(10))
+                .thenRequest(3)
+                .expectNext(0, 1, 2)
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(197)
+                .verifyComplete();
+    }
+
+    @Test
+    public void equalElementsKeepSourceOrder() {
+        Flux<String> merged = SortedMerge.mergeSorted(Comparator.comparing(String::length), List.of(
+                Flux.just("a1", "a22"),
+                Flux.just("b1", "b22")));
+
+        StepVerifier.create(merged)
+                .expectNext("a1", "b1", "a22", "b22")
+                .verifyComplete();
+    }
+
+    @Test
+    public void emptySourcesAreSkipped() {
+        Flux<Integer> merged = SortedMerge.mergeSorted(Comparator.naturalOrder(), List.of(
+                Flux.<Integer>empty(),
+                Flux.just(1, 2),
+                Flux.<Integer>empty()));
+
+        StepVerifier.create(merged)
+                .expectNext(1, 2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void errorCancelsOtherSources() {
+        TestPublisher<Integer> healthy = TestPublisher.create();
+        TestPublisher<Integer> failing = TestPublisher.create();
+
+        StepVerifier.create(SortedMerge.mergeSorted(Comparator.naturalOrder(), List.of(healthy, failing)))
+                .then(() -> healthy.next(1))
+                .then(() -> failing.error(new RuntimeException("Shard down")))
+                .expectErrorMessage("Shard down")
+                .verify();
+
+        healthy.assertCancelled();
+    }
+}
@@ -0,0 +1,128 @@
+package com.rohan.reactivespring.operators;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class StreamHubTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    StreamHub hub = new StreamHub();
+    Sinks.Many<Integer> upstream = Sinks.many().multicast().directBestEffort();
+    AtomicInteger upstreamCancels = new AtomicInteger();
+
+    @Test
+    public void upstreamRunsOnceForAllSubscribers() {
+        AtomicInteger computed = new AtomicInteger();
+        HubStream<String> stream = hub.stream("names", Flux.just("adam", "anna", "jack")
+                .doOnNext(name -> computed.incrementAndGet())
+                .delaySubscription(Duration.ofSeconds(1), scheduler), spec().build());
+
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        stream.subscribe().subscribe(first::add);
+        stream.subscribe().subscribe(second::add);
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        assertEquals(List.of("adam", "anna", "jack"), first);
+        assertEquals(List.of("adam", "anna", "jack"), second);
+        assertEquals(3, computed.get());
+        assertEquals(1, stream.connections());
+        assertSame(stream, hub.stream("names", Flux.<String>empty()));
+    }
+
+    @Test
+    public void lateSubscriberGetsHistory() {
+        HubStream<Integer> stream = stream(spec().history(2));
+
+        Disposable first = stream.subscribe().subscribe();
+        emit(1, 2, 3);
+
+        StepVerifier.create(stream.subscribe())
+                .expectNext(2, 3)
+                .then(() -> emit(4))
+                .expectNext(4)
+                .thenCancel()
+                .verify();
+        first.dispose();
+    }
+
+    @Test
+    public void historyExpires() {
+        HubStream<Integer> stream = stream(spec().historyTtl(Duration.ofSeconds(10)));
+
+        Disposable first = stream.subscribe().subscribe();
+        emit(1);
+        scheduler.advanceTimeBy(Duration.ofSeconds(5));
+        emit(2);
+        scheduler.advanceTimeBy(Duration.ofSeconds(6));
+
+        StepVerifier.create(stream.subscribe())
+                .expectNext(2)
+                .thenCancel()
+                .verify();
+        first.dispose();
+    }
+
+    @Test
+    public void upstreamStaysConnectedDuringGracePeriod() {
+        HubStream<Integer> stream = stream(spec().gracePeriod(Duration.ofSeconds(5)));
+
+        stream.subscribe().subscribe().dispose();
+        scheduler.advanceTimeBy(Duration.ofSeconds(4));
+        Disposable reconnected = stream.subscribe().subscribe();
+        scheduler.advanceTimeBy(Duration.ofSeconds(10));
+
+        assertEquals(1, stream.connections());
+        assertEquals(0, upstreamCancels.get());
+
+        reconnected.dispose();
+        scheduler.advanceTimeBy(Duration.ofSeconds(5));
+
+        assertEquals(1, upstreamCancels.get());
+        assertEquals(0, stream.subscribers());
+    }
+
+    @Test
+    public void slowSubscriberDropsOldestWithoutStallingOthers() {
+        HubStream<Integer> stream = stream(spec().subscriberBuffer(16));
+        List<Integer> fast = new ArrayList<>();
+        stream.subscribe().subscribe(fast::add);
+
+        StepVerifier.create(stream.subscribe(), 0)
+                .then(() -> emit(IntStream.rangeClosed(1, 100).boxed().toArray(Integer[]::new)))
+                .then(() -> assertEquals(100, fast.size()))
+                .thenRequest(16)
+                .expectNextSequence(Flux.range(85, 16).toIterable())
+                .thenCancel()
+                .verify();
+
+        assertEquals(84, stream.dropped());
+    }
+
+    private HubSpec.HubSpecBuilder spec() {
+        return HubSpec.builder().scheduler(scheduler);
+    }
+
+    private HubStream<Integer> stream(HubSpec.HubSpecBuilder spec) {
+        return hub.stream("numbers", upstream.asFlux().doOnCancel(upstreamCancels::incrementAndGet), spec.build());
+    }
+
+    private void emit(Integer... values) {
+        for (Integer value : values) {
+            upstream.emitNext(value, Sinks.EmitFailureHandler.FAIL_FAST);
+        }
+    }
+}
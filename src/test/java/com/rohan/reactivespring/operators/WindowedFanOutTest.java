@@ -0,0 +1,109 @@
+package com.rohan.reactivespring.operators;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class WindowedFanOutTest {
+
+    List<String> letters = List.of("A", "B", "C", "D", "E", "F");
+
+    // Counted down once the call for a letter returned, resp. once its result went downstream
+    Map<String, CountDownLatch> called = latchPerLetter();
+    Map<String, CountDownLatch> emitted = latchPerLetter();
+
+    @Test
+    public void fanOutKeepsOrder() {
+        FanOutSpec spec = FanOutSpec.builder()
+                .batchSize(2)
+                .maxConcurrency(3)
+                .ordered(true)
+                .build();
+
+        // First batch finishes last, so without ordering it would come out last
+        Flux<String> stringFlux = Flux.fromIterable(letters)
+                .transform(WindowedFanOut.fanOut(lastBatchFirst(called, 2), spec))
+                .flatMapIterable(list -> list);
+
+        StepVerifier.create(stringFlux)
+                .expectNext("A", "newValue", "B", "newValue", "C", "newValue")
+                .expectNext("D", "newValue", "E", "newValue", "F", "newValue")
+                .verifyComplete();
+    }
+
+    @Test
+    public void fanOutUnordered() {
+        FanOutSpec spec = FanOutSpec.builder()
+                .batchSize(2)
+                .maxConcurrency(3)
+                .ordered(false)
+                .build();
+
+        Flux<String> stringFlux = Flux.fromIterable(letters)
+                .transform(WindowedFanOut.fanOut(lastBatchFirst(emitted, 2), spec))
+                .doOnNext(list -> emitted.get(list.get(0)).countDown())
+                .map(list -> list.get(0));
+
+        // Last batch finishes first
+        StepVerifier.create(stringFlux)
+                .expectNext("E", "F")
+                .expectNextCount(4)
+                .verifyComplete();
+    }
+
+    @Test
+    public void fanOutRunsBatchesInParallel() {
+        FanOutSpec spec = FanOutSpec.builder()
+                .maxConcurrency(6)
+                .build();
+
+        // Every call waits until all 6 have started, run one after the other the first call would time out
+        CountDownLatch started = new CountDownLatch(letters.size());
+        Flux<List<String>> listFlux = Flux.fromIterable(letters)
+                .transform(WindowedFanOut.fanOut(s -> {
+                    started.countDown();
+                    await(started);
+                    return convertToList(s);
+                }, spec));
+
+        StepVerifier.create(listFlux)
+                .expectNextCount(6)
+                .verifyComplete();
+    }
+
+    // The call for a letter waits until the letters of all later batches are done, so batches finish last to first
+    private Function<String, List<String>> lastBatchFirst(Map<String, CountDownLatch> done, int batchSize) {
+        return s -> {
+            int nextBatch = Math.min((letters.indexOf(s) / batchSize + 1) * batchSize, letters.size());
+            letters.subList(nextBatch, letters.size()).forEach(later -> await(done.get(later)));
+            called.get(s).countDown();
+            return convertToList(s);
+        };
+    }
+
+    private Map<String, CountDownLatch> latchPerLetter() {
+        return letters.stream().collect(Collectors.toMap(Function.identity(), letter -> new CountDownLatch(1)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out, the calls did not run in parallel");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> convertToList(String s) {
+        return Arrays.asList(s, "newValue");
+    }
+}
@@ -0,0 +1,33 @@
+package com.rohan.reactivespring.query;
+
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.service.ItemQueryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+@Tag("mongo")
+@DataMongoTest
+public class IndexInitializerTest {
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    @Test
+    public void createsDeclaredIndexesSoItemShapesAreServed() {
+        StepVerifier.create(template.dropCollection(Item.class))
+                .verifyComplete();
+
+        new IndexInitializer(template, new QueryProperties()).run(null);
+
+        ItemQueryService itemQueryService = new ItemQueryService(new ReadQueries(template, new QueryProperties()));
+        StepVerifier.create(new IndexVerifier(template, List.of(itemQueryService), new QueryProperties()).unindexed())
+                .expectNext(List.of())
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,94 @@
+package com.rohan.reactivespring.query;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("mongo")
+@DataMongoTest
+public class IndexVerifierTest {
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    QueryShape byCategoryAndPrice = new QueryShape("product", List.of("category"), List.of("price", "_id"));
+    QueryProperties properties = new QueryProperties();
+    IndexVerifier indexVerifier;
+
+    @BeforeEach
+    public void setUp() {
+        indexVerifier = new IndexVerifier(template, List.of(() -> List.of(byCategoryAndPrice)), properties);
+
+        StepVerifier.create(template.dropCollection("product").then(template.createCollection("product")))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    public void flagsShapeWithoutIndex() {
+        StepVerifier.create(indexVerifier.unindexed())
+                .expectNext(List.of(byCategoryAndPrice))
+                .verifyComplete();
+    }
+
+    @Test
+    public void acceptsShapeWithIndex() {
+        StepVerifier.create(template.indexOps("product").ensureIndex(new Index()
+                        .on("category", Sort.Direction.ASC)
+                        .on("price", Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC))
+                        .then(indexVerifier.unindexed()))
+                .expectNext(List.of())
+                .verifyComplete();
+    }
+
+    @Test
+    public void failsStartupWhenConfigured() {
+        properties.setFailOnUnindexed(true);
+
+        assertThrows(IllegalStateException.class, () -> indexVerifier.run(null));
+    }
+
+    @Test
+    public void continuesStartupWhenVerificationFails() {
+        IndexVerifier broken = new IndexVerifier(template, List.of(() -> {
+            throw new IllegalStateException("no shapes");
+        }), properties);
+
+        assertDoesNotThrow(() -> broken.run(null));
+
+        properties.setFailOnUnindexed(true);
+        assertThrows(IllegalStateException.class, () -> broken.run(null));
+    }
+
+    @Test
+    public void indexMustStartWithEqualityThenSortFields() {
+        assertTrue(byCategoryAndPrice.isServedBy(index("category", "price", "_id", "name")));
+        assertFalse(byCategoryAndPrice.isServedBy(index("price", "category", "_id")));
+        assertFalse(byCategoryAndPrice.isServedBy(index("category", "price")));
+        assertEquals("{category: 1, price: 1, _id: 1}", byCategoryAndPrice.suggestedIndex());
+    }
+
+    private static IndexInfo index(String... keys) {
+        return new IndexInfo(Arrays.stream(keys)
+                .map(key -> IndexField.create(key, Sort.Direction.ASC))
+                .toList(), "test", false, false, "");
+    }
+}
@@ -0,0 +1,79 @@
+package com.rohan.reactivespring.resilience;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CircuitBreakerTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    CircuitBreaker circuitBreaker = new CircuitBreaker("db", 2, Duration.ofSeconds(10), 1, scheduler);
+    AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void opensAfterConsecutiveFailuresAndFailsFast() {
+        failCall();
+        failCall();
+        assertEquals(CircuitBreaker.Status.OPEN, circuitBreaker.status());
+
+        StepVerifier.create(circuitBreaker.protect(call(Mono.just("A"))))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+
+        assertEquals(2, calls.get()); // the open breaker did not call the dependency
+    }
+
+    @Test
+    public void closesAgainAfterSuccessfulTrialCall() {
+        failCall();
+        failCall();
+
+        scheduler.advanceTimeBy(Duration.ofSeconds(10));
+
+        StepVerifier.create(circuitBreaker.protect(call(Mono.just("A"))))
+                .expectNext("A")
+                .verifyComplete();
+        assertEquals(CircuitBreaker.Status.CLOSED, circuitBreaker.status());
+    }
+
+    @Test
+    public void reopensWhenTrialCallFails() {
+        failCall();
+        failCall();
+
+        scheduler.advanceTimeBy(Duration.ofSeconds(10));
+        failCall();
+
+        assertEquals(CircuitBreaker.Status.OPEN, circuitBreaker.status());
+    }
+
+    @Test
+    public void successResetsFailureCount() {
+        failCall();
+        StepVerifier.create(circuitBreaker.protect(call(Mono.just("A"))))
+                .expectNext("A")
+                .verifyComplete();
+        failCall();
+
+        assertEquals(CircuitBreaker.Status.CLOSED, circuitBreaker.status());
+    }
+
+    private void failCall() {
+        StepVerifier.create(circuitBreaker.protect(call(Mono.error(new RuntimeException("Exception occurred")))))
+                .expectError(RuntimeException.class)
+                .verify();
+    }
+
+    private <T> Mono<T> call(Mono<T> result) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return result;
+        });
+    }
+}
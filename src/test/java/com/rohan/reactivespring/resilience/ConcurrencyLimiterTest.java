@@ -0,0 +1,109 @@
+package com.rohan.reactivespring.resilience;
+
+import com.rohan.reactivespring.error.OverloadedException;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimiterTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    AtomicInteger started = new AtomicInteger();
+
+    @Test
+    public void callsOverTheLimitWaitForASlot() {
+        ConcurrencyLimiter limiter = limiter(ConcurrencyLimitSpec.builder().initialLimit(2).maxLimit(2));
+
+        StepVerifier.create(Flux.range(0, 5)
+                        .flatMap(i -> call(Duration.ofSeconds(1)).transform(limiter.mono())))
+                .then(() -> {
+                    assertEquals(2, started.get());
+                    assertEquals(3, limiter.waiting());
+                })
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                .expectNextCount(2)
+                .then(() -> assertEquals(4, started.get()))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(2)))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    public void fullQueueRejects() {
+        ConcurrencyLimiter limiter = limiter(ConcurrencyLimitSpec.builder().initialLimit(1).maxQueue(1));
+
+        call(Duration.ofSeconds(1)).transform(limiter.mono()).subscribe();
+        call(Duration.ofSeconds(1)).transform(limiter.mono()).subscribe();
+
+        StepVerifier.create(call(Duration.ofSeconds(1)).transform(limiter.mono()))
+                .expectError(OverloadedException.class)
+                .verify();
+        assertEquals(1, limiter.rejected());
+    }
+
+    @Test
+    public void limitGrowsWhileLatencyIsLowAndShrinksWhenItRises() {
+        ConcurrencyLimiter limiter = limiter(ConcurrencyLimitSpec.builder().initialLimit(10));
+
+        for (int i = 0; i < 100; i++) {
+            call(Duration.ofMillis(10)).transform(limiter.mono()).subscribe();
+            scheduler.advanceTimeBy(Duration.ofMillis(10));
+        }
+        int grown = limiter.limit();
+        assertTrue(grown > 10);
+
+        for (int i = 0; i < 5; i++) {
+            call(Duration.ofMillis(100)).transform(limiter.mono()).subscribe();
+            scheduler.advanceTimeBy(Duration.ofMillis(100));
+        }
+        assertTrue(limiter.limit() < grown);
+    }
+
+    @Test
+    public void errorsShrinkTheLimit() {
+        ConcurrencyLimiter limiter = limiter(ConcurrencyLimitSpec.builder().initialLimit(10));
+
+        StepVerifier.create(Mono.error(new IllegalStateException("Exception occurred")).transform(limiter.mono()))
+                .expectErrorMessage("Exception occurred")
+                .verify();
+
+        assertEquals(9, limiter.limit());
+    }
+
+    @Test
+    public void cancelledCallsFreeTheirSlot() {
+        ConcurrencyLimiter limiter = limiter(ConcurrencyLimitSpec.builder().initialLimit(1));
+
+        Disposable running = call(Duration.ofSeconds(1)).transform(limiter.mono()).subscribe();
+        Disposable queued = call(Duration.ofSeconds(1)).transform(limiter.mono()).subscribe();
+        queued.dispose();
+        assertEquals(0, limiter.waiting());
+
+        running.dispose();
+        assertEquals(0, limiter.inFlight());
+
+        StepVerifier.create(call(Duration.ofSeconds(1)).transform(limiter.mono()))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                .expectNext(2) // the cancelled queued call never started
+                .verifyComplete();
+    }
+
+    private ConcurrencyLimiter limiter(ConcurrencyLimitSpec.ConcurrencyLimitSpecBuilder spec) {
+        return new ConcurrencyLimiter("backend", spec.scheduler(scheduler).build());
+    }
+
+    private Mono<Integer> call(Duration latency) {
+        return Mono.defer(() -> Mono.delay(latency, scheduler).thenReturn(started.incrementAndGet()));
+    }
+}
@@ -0,0 +1,143 @@
+package com.rohan.reactivespring.resilience;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HedgingTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    AtomicInteger backupCalls = new AtomicInteger();
+
+    @Test
+    public void backupWinsWhenPrimaryIsSlowAndPrimaryIsCancelled() {
+        Hedging hedging = hedging(HedgeSpec.builder());
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+        Mono<String> primary = Mono.delay(Duration.ofSeconds(1), scheduler)
+                .thenReturn("primary")
+                .doOnCancel(() -> primaryCancelled.set(true));
+
+        // the backup starts after the 50ms initial delay
+        StepVerifier.create(hedging.hedge(List.of(primary, backup(Duration.ofMillis(10)))))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(60)))
+                .expectNext("backup")
+                .verifyComplete();
+
+        assertTrue(primaryCancelled.get());
+        assertEquals(1, backupCalls.get());
+        assertEquals(1, hedging.hedges());
+    }
+
+    @Test
+    public void fastPrimaryIsNotHedged() {
+        Hedging hedging = hedging(HedgeSpec.builder());
+
+        StepVerifier.create(hedging.hedge(List.of(
+                Mono.delay(Duration.ofMillis(20), scheduler).thenReturn("primary"),
+                backup(Duration.ofMillis(10)))))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(0, backupCalls.get());
+    }
+
+    @Test
+    public void emptyPrimaryWinsWithoutHedging() {
+        Hedging hedging = hedging(HedgeSpec.builder());
+
+        StepVerifier.create(hedging.hedge(List.of(Mono.<String>empty(), backup(Duration.ofMillis(10)))))
+                .verifyComplete();
+
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+        assertEquals(0, backupCalls.get());
+        assertEquals(0, hedging.hedges());
+    }
+
+    @Test
+    public void failuresDoNotPullHedgeDelayDown() {
+        Hedging hedging = hedging(HedgeSpec.builder().minSamples(10).window(100).budgetRatio(0).budgetBurst(0));
+
+        for (int i = 0; i < 100; i++) {
+            hedging.hedge(List.of(Mono.error(new IllegalStateException("Exception occurred"))))
+                    .subscribe(value -> {
+                    }, error -> {
+                    });
+            scheduler.advanceTimeBy(Duration.ofMillis(50));
+        }
+
+        assertEquals(Duration.ofMillis(50).toNanos(), hedging.hedgeDelayNanos());
+    }
+
+    @Test
+    public void emptyBudgetWaitsForPrimary() {
+        Hedging hedging = hedging(HedgeSpec.builder().budgetRatio(0).budgetBurst(0));
+
+        StepVerifier.create(hedging.hedge(List.of(
+                Mono.delay(Duration.ofSeconds(1), scheduler).thenReturn("primary"),
+                backup(Duration.ofMillis(10)))))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(1)))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(0, backupCalls.get());
+        assertEquals(1, hedging.hedgesDenied());
+    }
+
+    @Test
+    public void primaryErrorIsPropagatedWhenNoBackupRuns() {
+        Hedging hedging = hedging(HedgeSpec.builder().budgetRatio(0).budgetBurst(0));
+
+        StepVerifier.create(hedging.hedge(List.of(
+                Mono.<String>error(new IllegalStateException("Exception occurred")),
+                backup(Duration.ofMillis(10)))))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(50)))
+                .expectErrorMessage("Exception occurred")
+                .verify();
+    }
+
+    @Test
+    public void hedgeDelayFollowsPercentile() {
+        Hedging hedging = hedging(HedgeSpec.builder().percentile(0.9).minSamples(10).window(100));
+
+        for (int i = 1; i <= 100; i++) {
+            hedging.hedge(List.of(Mono.delay(Duration.ofMillis(i), scheduler))).subscribe();
+            scheduler.advanceTimeBy(Duration.ofMillis(i));
+        }
+        // recomputed every window / 10 calls, the last time on the 100th call from the 99 latencies before it
+        assertEquals(Duration.ofMillis(90).toNanos(), hedging.hedgeDelayNanos());
+    }
+
+    @Test
+    public void latencyTrackerKeepsLastWindow() {
+        LatencyTracker tracker = new LatencyTracker(4);
+        for (long latency : new long[]{100, 1, 2, 3, 4}) {
+            tracker.record(latency);
+        }
+
+        assertEquals(5, tracker.count());
+        assertEquals(4, tracker.percentile(1.0));
+        assertEquals(2, tracker.percentile(0.5));
+    }
+
+    private Hedging hedging(HedgeSpec.HedgeSpecBuilder spec) {
+        return new Hedging("replicas", spec.scheduler(scheduler).build());
+    }
+
+    private Mono<String> backup(Duration latency) {
+        return Mono.defer(() -> {
+            backupCalls.incrementAndGet();
+            return Mono.delay(latency, scheduler).thenReturn("backup");
+        });
+    }
+}
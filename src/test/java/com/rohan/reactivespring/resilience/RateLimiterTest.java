@@ -0,0 +1,62 @@
+package com.rohan.reactivespring.resilience;
+
+import com.rohan.reactivespring.error.OverloadedException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RateLimiterTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    RateLimiter rateLimiter = new RateLimiter("db", RateLimitSpec.builder()
+            .permitsPerSecond(10)
+            .burst(2)
+            .maxWait(Duration.ofMillis(500))
+            .scheduler(scheduler)
+            .build());
+
+    @Test
+    public void callsOverTheRateAreDelayed() {
+        List<Long> startedAt = new ArrayList<>();
+
+        Flux.range(0, 5)
+                .flatMap(i -> Mono.fromCallable(() -> startedAt.add(scheduler.now(TimeUnit.MILLISECONDS)))
+                        .transform(rateLimiter.mono()))
+                .subscribe();
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        // the burst starts right away, then one call every 100ms
+        assertEquals(List.of(0L, 0L, 100L, 200L, 300L), startedAt);
+    }
+
+    @Test
+    public void callsThatWouldWaitTooLongAreRejected() {
+        for (int i = 0; i < 7; i++) {
+            Mono.just(i).transform(rateLimiter.mono()).subscribe();
+        }
+
+        StepVerifier.create(Mono.just("A").transform(rateLimiter.mono()))
+                .expectError(OverloadedException.class)
+                .verify();
+    }
+
+    @Test
+    public void fluxSubscriptionIsDelayed() {
+        Flux.just("A").transform(rateLimiter.flux()).subscribe();
+        Flux.just("B").transform(rateLimiter.flux()).subscribe();
+
+        StepVerifier.create(Flux.just("C", "D").transform(rateLimiter.flux()))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofMillis(100)))
+                .expectNext("C", "D")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,95 @@
+package com.rohan.reactivespring.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Isolated // withVirtualTime replaces the global schedulers
+public class ResilienceTest {
+
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void retriesWithBackoffAndPropagatesOriginalException() {
+        // Same flow as FluxAndMonoErrorTest.fluxErrorHandling_withRetryBackOff, which ends in an IllegalStateException
+        Resilience resilience = new Resilience("db", ResilienceSpec.builder()
+                .maxRetries(2)
+                .baseBackoff(Duration.ofSeconds(5))
+                .maxBackoff(Duration.ofSeconds(20))
+                .scheduler(scheduler)
+                .build());
+
+        Flux<String> stringFlux = Flux.just("A", "B", "C")
+                .concatWith(failingCall())
+                .transform(resilience.flux());
+
+        StepVerifier.withVirtualTime(() -> stringFlux, () -> scheduler, Long.MAX_VALUE)
+                .expectSubscription()
+                .expectNext("A", "B", "C")
+                .thenAwait(Duration.ofSeconds(20))
+                .expectNext("A", "B", "C")
+                .thenAwait(Duration.ofSeconds(20))
+                .expectNext("A", "B", "C")
+                .expectErrorMessage("Exception occurred")
+                .verify();
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void retryBudgetIsSharedAcrossPipelines() {
+        Resilience resilience = new Resilience("db", ResilienceSpec.builder()
+                .maxRetries(3)
+                .retryBudgetPerSecond(0.001)
+                .retryBudgetBurst(2)
+                .failureThreshold(100)
+                .scheduler(scheduler)
+                .build());
+
+        // 5 subscribers with 3 retries each would make 20 calls, the budget only allows 2 retries in total
+        Flux<String> pipelines = Flux.range(0, 5)
+                .flatMap(i -> failingCall().transform(resilience.mono())
+                        .onErrorResume(e -> Mono.empty()));
+
+        StepVerifier.withVirtualTime(() -> pipelines, () -> scheduler, Long.MAX_VALUE)
+                .thenAwait(Duration.ofMinutes(1))
+                .verifyComplete();
+
+        assertEquals(7, calls.get());
+    }
+
+    @Test
+    public void openBreakerStopsRetrying() {
+        Resilience resilience = new Resilience("db", ResilienceSpec.builder()
+                .maxRetries(10)
+                .failureThreshold(2)
+                .openDuration(Duration.ofMinutes(1))
+                .scheduler(scheduler)
+                .build());
+
+        StepVerifier.withVirtualTime(() -> failingCall().transform(resilience.mono()), () -> scheduler, Long.MAX_VALUE)
+                .thenAwait(Duration.ofSeconds(30))
+                // The failure of the call, not the CallNotPermittedException of the breaker that opened meanwhile
+                .expectErrorMatches(e -> e.getClass() == RuntimeException.class
+                        && "Exception occurred".equals(e.getMessage()))
+                .verify();
+
+        assertEquals(2, calls.get());
+    }
+
+    private Mono<String> failingCall() {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new RuntimeException("Exception occurred"));
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.rohan.reactivespring.router;
+
+import com.rohan.reactivespring.document.Event;
+import com.rohan.reactivespring.handler.EventHandler;
+import com.rohan.reactivespring.service.EventStore;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventRouterTest {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<Event>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    EventStore eventStore = mock(EventStore.class);
+
+    WebTestClient webTestClient;
+
+    ObjectId lastSeen = new ObjectId();
+    Event live = new Event(new ObjectId(), 1L, "created", "live", Instant.EPOCH);
+    Event resumed = new Event(new ObjectId(), 2L, "updated", "resumed", Instant.EPOCH);
+
+    @BeforeEach
+    public void setUp() {
+        webTestClient = WebTestClient.bindToRouterFunction(new EventRouter().eventRoute(new EventHandler(eventStore)))
+                .build();
+
+        when(eventStore.live()).thenReturn(Flux.just(live));
+        when(eventStore.feed(lastSeen)).thenReturn(Flux.just(resumed));
+    }
+
+    @Test
+    public void newClientGetsTheLiveFeedWithEventIds() {
+        StepVerifier.create(stream(webTestClient.get().uri(EventRouter.EVENTS_STREAM)))
+                .expectNextMatches(sse -> live.getId().toHexString().equals(sse.id())
+                        && "created".equals(sse.event())
+                        && "live".equals(sse.data().getPayload()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void lastEventIdHeaderResumesTheFeed() {
+        StepVerifier.create(stream(webTestClient.get().uri(EventRouter.EVENTS_STREAM)
+                        .header("Last-Event-ID", lastSeen.toHexString())))
+                .expectNextMatches(sse -> resumed.getId().toHexString().equals(sse.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void lastEventIdQueryParameterResumesTheFeed() {
+        StepVerifier.create(stream(webTestClient.get()
+                        .uri(EventRouter.EVENTS_STREAM + "?lastEventId={id}", lastSeen.toHexString())))
+                .expectNextMatches(sse -> resumed.getId().toHexString().equals(sse.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void headerWinsOverQueryParameter() {
+        StepVerifier.create(stream(webTestClient.get()
+                        .uri(EventRouter.EVENTS_STREAM + "?lastEventId={id}", new ObjectId().toHexString())
+                        .header("Last-Event-ID", lastSeen.toHexString())))
+                .expectNextMatches(sse -> resumed.getId().toHexString().equals(sse.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void invalidLastEventIdIsRejected() {
+        webTestClient.get().uri(EventRouter.EVENTS_STREAM)
+                .header("Last-Event-ID", "not-an-object-id")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(eventStore, never()).feed(any());
+        verify(eventStore, never()).live();
+    }
+
+    private Flux<ServerSentEvent<Event>> stream(WebTestClient.RequestHeadersSpec<?> request) {
+        return request.accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(SSE_TYPE)
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,117 @@
+package com.rohan.reactivespring.router;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Uploads and downloads files bigger than the heap through a real server. The transferTest task runs this with a
+ * 256 MB heap, so any part of the chain holding a whole payload fails with an OutOfMemoryError.
+ * <p>
+ * The source files are sparse, they take no disk space until written.
+ * Run with ./gradlew transferTest
+ */
+@Tag("transfer")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class FileTransferLoadTest {
+
+    private static final long FILE_SIZE = 2L * 1024 * 1024 * 1024;
+    private static final long BLOB_SIZE = 512L * 1024 * 1024;
+
+    static Path directory;
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void filesDirectory(DynamicPropertyRegistry registry) throws IOException {
+        directory = Files.createTempDirectory("file-transfer");
+        registry.add("files.directory", () -> directory.resolve("store").toString());
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    public void twoGigabyteFileRoundTrip() throws IOException {
+        Path source = sparseFile("upload.bin", FILE_SIZE);
+        WebClient client = WebClient.create("http://localhost:" + port);
+
+        Map<?, ?> uploaded = client.put().uri(FileRouter.FILES + "/{name}", "big.bin")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(BodyInserters.fromDataBuffers(read(source)))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .block(Duration.ofMinutes(5));
+        assertEquals(FILE_SIZE, ((Number) uploaded.get("size")).longValue());
+        assertEquals(FILE_SIZE, Files.size(directory.resolve("store").resolve("big.bin")));
+
+        long downloaded = countAndRelease(client.get().uri(FileRouter.FILES + "/{name}", "big.bin")
+                .retrieve()
+                .bodyToFlux(DataBuffer.class));
+        assertEquals(FILE_SIZE, downloaded);
+    }
+
+    @Test
+    public void blobRoundTripThroughGridFs() throws IOException {
+        Path source = sparseFile("blob.bin", BLOB_SIZE);
+        WebClient client = WebClient.create("http://localhost:" + port);
+
+        Map<?, ?> stored = client.post().uri(FileRouter.BLOBS + "?name=blob.bin")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(BodyInserters.fromDataBuffers(read(source)))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .block(Duration.ofMinutes(5));
+
+        long downloaded = countAndRelease(client.get().uri(FileRouter.BLOBS + "/{id}", stored.get("id"))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class));
+        assertEquals(BLOB_SIZE, downloaded);
+    }
+
+    private static Path sparseFile(String name, long size) throws IOException {
+        Path path = directory.resolve(name);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(size);
+        }
+        return path;
+    }
+
+    private static Flux<DataBuffer> read(Path path) {
+        return DataBufferUtils.read(path, DefaultDataBufferFactory.sharedInstance, 64 * 1024);
+    }
+
+    private static long countAndRelease(Flux<DataBuffer> body) {
+        return body.map(buffer -> {
+                    int size = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return (long) size;
+                })
+                .reduce(0L, Long::sum)
+                .block(Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,66 @@
+package com.rohan.reactivespring.router;
+
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.handler.ItemStreamHandler;
+import com.rohan.reactivespring.metrics.PipelineMetrics;
+import com.rohan.reactivespring.service.ItemStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemRouterTest {
+
+    ItemStreamService itemStreamService = mock(ItemStreamService.class);
+
+    WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        ItemStreamHandler handler = new ItemStreamHandler(itemStreamService, new PipelineMetrics(new SimpleMeterRegistry()));
+        webTestClient = WebTestClient.bindToRouterFunction(new ItemRouter().itemStreamRoute(handler)).build();
+
+        when(itemStreamService.streamAll()).thenReturn(Flux.just(
+                new Item("1", "Samsung TV", 400.0),
+                new Item("2", "LG TV", 420.0),
+                new Item("3", "Apple Watch", 299.99)));
+    }
+
+    @Test
+    public void streamItemsAsNdjson() {
+        Flux<Item> itemFlux = webTestClient.get().uri(ItemRouter.ITEMS_STREAM)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Item.class)
+                .getResponseBody();
+
+        StepVerifier.create(itemFlux)
+                .expectNext(new Item("1", "Samsung TV", 400.0))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void streamItemsAsEvents() {
+        Flux<Item> itemFlux = webTestClient.get().uri(ItemRouter.ITEMS_STREAM_SSE)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(Item.class)
+                .getResponseBody();
+
+        StepVerifier.create(itemFlux)
+                .expectNext(new Item("1", "Samsung TV", 400.0))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+}
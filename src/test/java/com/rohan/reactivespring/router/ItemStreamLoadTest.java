@@ -0,0 +1,102 @@
+package com.rohan.reactivespring.router;
+
+import com.rohan.reactivespring.document.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams 1M items from the embedded Mongo through a real server to a client that pauses every 100k items, and
+ * checks the heap does not grow while it does. The items come through ItemStreamService, so the cursor batch size and
+ * limitRate are part of the path under test. If demand was not honoured end to end, from the client back to the
+ * Mongo cursor, the server would buffer the items the client is not reading yet.
+ * <p>
+ * Uses WebClient rather than WebTestClient, WebTestClient keeps a copy of every response byte for its assertions.
+ * Run with ./gradlew loadTest
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ItemStreamLoadTest {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int SAMPLE_EVERY = 100_000;
+    private static final int SEED_BATCH = 10_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    @BeforeEach
+    public void setUp() {
+        // Inserted in batches, one insert per item would take longer than the streaming itself
+        template.dropCollection(Item.class)
+                .thenMany(Flux.range(0, ITEMS)
+                        .map(i -> new Item(String.valueOf(i), "item " + i, i * 1.5))
+                        .buffer(SEED_BATCH)
+                        .concatMap(batch -> template.insert(batch, Item.class), 1))
+                .then()
+                .block(Duration.ofMinutes(5));
+    }
+
+    @Test
+    public void heapStaysFlatWhileStreamingToASlowClient() {
+        List<Long> heapSamples = new ArrayList<>();
+
+        Flux<Item> itemFlux = WebClient.create("http://localhost:" + port)
+                .get().uri(ItemRouter.ITEMS_STREAM)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(Item.class)
+                .publishOn(Schedulers.boundedElastic(), 256)
+                .index()
+                .doOnNext(indexed -> {
+                    if (indexed.getT1() % SAMPLE_EVERY == 0) {
+                        pause(200); // slow consumer, the server keeps producing if demand is ignored
+                        heapSamples.add(usedHeapAfterGc());
+                    }
+                })
+                .map(indexed -> indexed.getT2());
+
+        StepVerifier.create(itemFlux)
+                .expectNextCount(ITEMS)
+                .expectComplete()
+                .verify(Duration.ofMinutes(5));
+
+        // First sample is taken before the pipeline is warmed up
+        long baseline = heapSamples.get(1);
+        long max = heapSamples.stream().skip(1).mapToLong(Long::longValue).max().orElse(baseline);
+        assertTrue(max - baseline < MAX_HEAP_GROWTH, "Heap grew while streaming: " + heapSamples);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
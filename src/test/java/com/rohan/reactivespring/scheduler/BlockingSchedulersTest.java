@@ -0,0 +1,43 @@
+package com.rohan.reactivespring.scheduler;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class BlockingSchedulersTest {
+
+    @Test
+    public void blockingSchedulerIsAlwaysAvailable() {
+        assertNotNull(BlockingSchedulers.blocking());
+    }
+
+    @Test
+    public void blockingCallsDoNotRunOneAfterTheOther() {
+        // One call more than parallel() has threads, every call blocks until all of them have started.
+        // On parallel() the last call never starts and the others time out.
+        int calls = Schedulers.DEFAULT_POOL_SIZE + 1;
+        CountDownLatch started = new CountDownLatch(calls);
+        Flux<Integer> results = Flux.range(1, calls)
+                .flatMap(i -> Mono.fromCallable(() -> blockingCall(i, started))
+                        .subscribeOn(BlockingSchedulers.blocking()));
+
+        StepVerifier.create(results)
+                .expectNextCount(calls)
+                .verifyComplete();
+    }
+
+    private Integer blockingCall(Integer i, CountDownLatch started) throws InterruptedException {
+        started.countDown();
+        if (!started.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Call " + i + " waited for the others to start");
+        }
+        return i;
+    }
+}
@@ -0,0 +1,39 @@
+package com.rohan.reactivespring.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Isolated // withVirtualTime replaces the global schedulers
+public class ReactiveClockTest {
+
+    @Test
+    public void systemClockFollowsVirtualTime() {
+        StepVerifier.withVirtualTime(() -> ReactiveClock.system().delay(Duration.ofHours(1))
+                        .map(tick -> ReactiveClock.system().instant()))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMinutes(59))
+                .thenAwait(Duration.ofMinutes(1))
+                .expectNext(Instant.ofEpochMilli(Duration.ofHours(1).toMillis()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void clockOfSchedulerUsesThatScheduler() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        ReactiveClock clock = ReactiveClock.of(scheduler);
+
+        StepVerifier.create(clock.interval(Duration.ofSeconds(1)).take(3))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofSeconds(3)))
+                .expectNext(0L, 1L, 2L)
+                .verifyComplete();
+
+        assertEquals(3000, clock.millis());
+    }
+}
@@ -0,0 +1,77 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.document.Event;
+import com.rohan.reactivespring.repository.EventReactiveRepository;
+import com.rohan.reactivespring.scheduler.ReactiveClock;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Appends 10k events/s for 5s and measures insert to receipt latency on a tailing subscriber.
+ * Run with ./gradlew loadTest
+ */
+@Tag("load")
+@DataMongoTest
+public class EventFeedLatencyTest {
+
+    private static final int EVENTS_PER_TICK = 100;
+    private static final Duration TICK = Duration.ofMillis(10);
+    private static final int TICKS = 500;
+    private static final int EVENTS = EVENTS_PER_TICK * TICKS;
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    @Autowired
+    EventReactiveRepository eventReactiveRepository;
+
+    @Test
+    public void endToEndLatencyAt10kEventsPerSecond() throws InterruptedException {
+        EventStore eventStore = new EventStore(template, eventReactiveRepository, new EventStoreProperties(),
+                ReactiveClock.system());
+        template.dropCollection(Event.class).then(eventStore.createCollection()).block();
+        eventStore.append("warmup", String.valueOf(System.nanoTime())).block();
+
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch received = new CountDownLatch(EVENTS);
+
+        // payload carries the nanoTime of the insert, producer and subscriber share this JVM
+        Disposable subscription = eventStore.feed(eventStore.lastEventId().block())
+                .subscribe(event -> {
+                    latencies.add(System.nanoTime() - Long.parseLong(event.getPayload()));
+                    received.countDown();
+                });
+
+        Flux.interval(TICK)
+                .take(TICKS)
+                .onBackpressureBuffer()
+                .concatMap(tick -> Flux.range(0, EVENTS_PER_TICK)
+                        .flatMap(i -> eventStore.append("tick", String.valueOf(System.nanoTime())))
+                        .then(Mono.just(tick)))
+                .blockLast();
+
+        boolean all = received.await(30, TimeUnit.SECONDS);
+        subscription.dispose();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        long p50 = TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]);
+        long p99 = TimeUnit.NANOSECONDS.toMillis(sorted[(int) (sorted.length * 0.99)]);
+        System.out.println("Event feed latency over " + sorted.length + " events: p50=" + p50 + "ms p99=" + p99 + "ms");
+
+        assertTrue(all, "Only received " + (EVENTS - received.getCount()) + " of " + EVENTS + " events");
+        assertTrue(p99 < 1000, "p99 latency " + p99 + "ms");
+    }
+}
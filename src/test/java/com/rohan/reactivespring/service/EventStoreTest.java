@@ -0,0 +1,149 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.document.Event;
+import com.rohan.reactivespring.repository.EventReactiveRepository;
+import com.rohan.reactivespring.scheduler.ReactiveClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+@Tag("mongo")
+@DataMongoTest
+public class EventStoreTest {
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    @Autowired
+    EventReactiveRepository eventReactiveRepository;
+
+    EventStore eventStore;
+
+    @BeforeEach
+    public void setUp() {
+        eventStore = new EventStore(template, eventReactiveRepository, new EventStoreProperties(),
+                ReactiveClock.system());
+
+        // Capped collections can't be emptied with deleteAll, start from a fresh one
+        StepVerifier.create(template.dropCollection(Event.class).then(eventStore.createCollection()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void feedResumesAfterLastEventId() {
+        Event first = eventStore.append("created", "A").block();
+        eventStore.append("updated", "B").block();
+        eventStore.append("deleted", "C").block();
+
+        Flux<String> payloads = eventStore.feed(first.getId())
+                .map(Event::getPayload)
+                .take(2);
+
+        StepVerifier.create(payloads)
+                .expectNext("B", "C")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void newSubscriberDoesNotReadHistory() {
+        eventStore.append("created", "history").block();
+
+        Flux<String> payloads = eventStore.feed(eventStore.lastEventId().block())
+                .map(Event::getPayload)
+                .take(1);
+
+        StepVerifier.create(payloads)
+                .then(() -> eventStore.append("created", "live").block())
+                .expectNext("live")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void feedWithoutLastEventIdStartsAtOldestEvent() {
+        eventStore.append("created", "A").block();
+        eventStore.append("updated", "B").block();
+
+        StepVerifier.create(eventStore.feed(null).map(Event::getPayload).take(2))
+                .expectNext("A", "B")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void feedContinuesWithOldestEventWhenLastSeenWasOverwritten() {
+        EventStoreProperties properties = new EventStoreProperties();
+        properties.setMaxDocuments(3);
+        EventStore small = new EventStore(template, eventReactiveRepository, properties, ReactiveClock.system());
+        StepVerifier.create(template.dropCollection(Event.class).then(small.createCollection()))
+                .verifyComplete();
+
+        Event first = small.append("created", "A").block();
+        for (String payload : new String[]{"B", "C", "D", "E"}) {
+            small.append("updated", payload).block();
+        }
+
+        StepVerifier.create(small.feed(first.getId()).map(Event::getPayload).take(3))
+                .expectNext("C", "D", "E")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void resumingCursorOnlyGetsEventsFromTheLastSeenSeqOnward() {
+        EventStoreProperties properties = new EventStoreProperties();
+        properties.setResumeOverlap(0);
+        EventStore noOverlap = new EventStore(template, eventReactiveRepository, properties, ReactiveClock.system());
+
+        eventStore.append("created", "A").block();
+        Event b = eventStore.append("updated", "B").block();
+        // Inserted after B with a smaller number, like a slower appender in another process
+        eventReactiveRepository.save(new Event(null, b.getSeq() - 1, "updated", "late", b.getCreatedAt())).block();
+        eventStore.append("deleted", "C").block();
+
+        // The server filters on seq, without an overlap the late event is not even sent
+        StepVerifier.create(noOverlap.feed(b.getId()).map(Event::getPayload).take(1))
+                .expectNext("C")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(eventStore.feed(b.getId()).map(Event::getPayload).take(2))
+                .expectNext("late", "C")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void feedResumesAfterEventWithoutSeq() {
+        // Appended before events had a seq, found by scanning from the oldest event
+        Event old = eventReactiveRepository.save(new Event(null, null, "created", "A", null)).block();
+        eventStore.append("updated", "B").block();
+
+        StepVerifier.create(eventStore.feed(old.getId()).map(Event::getPayload).take(1))
+                .expectNext("B")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void feedWaitsForFirstEventOfEmptyCollection() {
+        // The tailable cursor on an empty capped collection dies at once, the feed has to re-open it
+        Flux<String> payloads = eventStore.feed(null)
+                .map(Event::getPayload)
+                .take(1);
+
+        StepVerifier.create(payloads)
+                .then(() -> eventStore.append("created", "first").block())
+                .expectNext("first")
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+}
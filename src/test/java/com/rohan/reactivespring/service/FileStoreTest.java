@@ -0,0 +1,97 @@
+package com.rohan.reactivespring.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    FileStore fileStore;
+
+    @BeforeEach
+    public void setUp() {
+        FileStoreProperties properties = new FileStoreProperties();
+        properties.setDirectory(directory);
+        fileStore = new FileStore(properties);
+    }
+
+    @Test
+    public void concurrentUploadsOfSameNameDoNotMix() throws IOException {
+        StepVerifier.create(Mono.zip(
+                        fileStore.write("report", chunks("A", 200)),
+                        fileStore.write("report", chunks("B", 200))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        String content = Files.readString(directory.resolve("report"));
+        assertTrue(content.equals("A".repeat(200)) || content.equals("B".repeat(200)), content);
+        assertTrue(files(name -> name.endsWith(".part")).isEmpty());
+    }
+
+    @Test
+    public void longestValidNameCanBeUploaded() throws IOException {
+        String name = "r".repeat(255);
+
+        StepVerifier.create(fileStore.write(name, chunks("A", 3)))
+                .expectNext(3L)
+                .verifyComplete();
+
+        assertEquals("AAA", Files.readString(directory.resolve(name)));
+    }
+
+    @Test
+    public void cancelledUploadLeavesNoPartFile() throws Exception {
+        Disposable upload = fileStore.write("report", chunks("A", 1).concatWith(Flux.never())).subscribe();
+        awaitUntil(() -> !files(name -> name.endsWith(".part")).isEmpty());
+
+        upload.dispose();
+
+        awaitUntil(() -> files(name -> true).isEmpty());
+    }
+
+    // One buffer per chunk, each delivered a little later so the two uploads interleave
+    private static Flux<DataBuffer> chunks(String chunk, int count) {
+        return Flux.range(0, count)
+                .delayElements(Duration.ofMillis(1))
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<String> files(Predicate<String> name) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).filter(name).toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Cleanup of a cancelled upload runs asynchronously on the blocking scheduler
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.repository.ItemReactiveRepository;
+import com.rohan.reactivespring.scheduler.ReactiveClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("mongo")
+@DataMongoTest
+public class ItemBulkIngestServiceTest {
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    @Autowired
+    ItemReactiveRepository itemReactiveRepository;
+
+    ItemBulkIngestService ingestService;
+
+    @BeforeEach
+    public void setUp() {
+        IngestProperties properties = new IngestProperties();
+        properties.setBatchSize(100);
+        ingestService = new ItemBulkIngestService(template, properties, ReactiveClock.system());
+
+        StepVerifier.create(itemReactiveRepository.deleteAll())
+                .verifyComplete();
+    }
+
+    @Test
+    public void ingestWritesEveryItem() {
+        Flux<Item> items = Flux.range(0, 1050)
+                .map(i -> new Item(null, "item " + i, i * 1.5));
+
+        // 10 full batches and a partial one flushed on completion
+        StepVerifier.create(ingestService.ingest(items))
+                .expectNext(1050L)
+                .verifyComplete();
+
+        StepVerifier.create(itemReactiveRepository.count())
+                .expectNext(1050L)
+                .verifyComplete();
+    }
+
+    @Test
+    public void ingestKeepsGoingWhenInsertsAreSlowerThanMaxWait() {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        IngestProperties properties = new IngestProperties();
+        properties.setBatchSize(100);
+        properties.setMaxWait(Duration.ofMillis(50));
+        properties.setMaxInFlight(1);
+        List<Integer> batchSizes = new ArrayList<>();
+
+        // Every insert takes 1s, so the timer closes batches while the single insert slot is busy
+        ItemBulkIngestService slowIngest = new ItemBulkIngestService(template, properties, ReactiveClock.of(scheduler)) {
+            @Override
+            Mono<Long> insertBatch(List<Item> batch) {
+                batchSizes.add(batch.size());
+                return Mono.delay(Duration.ofSeconds(1), scheduler).thenReturn((long) batch.size());
+            }
+        };
+        Flux<Item> items = Flux.range(0, 1000)
+                .delayElements(Duration.ofMillis(10), scheduler)
+                .map(i -> new Item(null, "item " + i, i * 1.5));
+
+        StepVerifier.create(slowIngest.ingest(items))
+                .then(() -> scheduler.advanceTimeBy(Duration.ofHours(1)))
+                .expectNext(1000L)
+                .verifyComplete();
+
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+        assertTrue(batchSizes.stream().anyMatch(size -> size < 100));
+    }
+
+    @Test
+    public void ingestOfEmptySource() {
+        StepVerifier.create(ingestService.ingest(Flux.empty()))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+}
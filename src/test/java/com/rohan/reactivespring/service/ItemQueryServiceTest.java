@@ -0,0 +1,106 @@
+package com.rohan.reactivespring.service;
+
+import com.rohan.reactivespring.document.Item;
+import com.rohan.reactivespring.document.ItemPrice;
+import com.rohan.reactivespring.query.KeysetPage;
+import com.rohan.reactivespring.query.QueryProperties;
+import com.rohan.reactivespring.query.ReadQueries;
+import com.rohan.reactivespring.repository.ItemReactiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("mongo")
+@DataMongoTest
+public class ItemQueryServiceTest {
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    @Autowired
+    ItemReactiveRepository itemReactiveRepository;
+
+    ReadQueries readQueries;
+    ItemQueryService itemQueryService;
+
+    List<Item> items;
+
+    @BeforeEach
+    public void setUp() {
+        QueryProperties properties = new QueryProperties();
+        properties.setMaxPageSize(10);
+        readQueries = new ReadQueries(template, properties);
+        itemQueryService = new ItemQueryService(readQueries);
+
+        // Only 5 distinct prices, so pages have to break ties on the id
+        items = itemReactiveRepository.deleteAll()
+                .thenMany(itemReactiveRepository.saveAll(Flux.range(0, 25)
+                        .map(i -> new Item(null, "item " + i, (i % 5) * 10.0))))
+                .collectList()
+                .block();
+    }
+
+    @Test
+    public void pagesWalkEveryItemInPriceOrder() {
+        List<ItemPrice> walked = new ArrayList<>();
+        KeysetPage<ItemPrice> page = itemQueryService.pageByPrice(null, 10).block();
+        walked.addAll(page.content());
+        while (page.hasNext()) {
+            page = itemQueryService.pageByPrice(page.next(), 10).block();
+            walked.addAll(page.content());
+        }
+
+        List<ItemPrice> expected = items.stream()
+                .map(item -> new ItemPrice(item.getId(), item.getPrice()))
+                .sorted(Comparator.comparing(ItemPrice::price).thenComparing(ItemPrice::id))
+                .toList();
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    public void pageSizeIsCapped() {
+        KeysetPage<ItemPrice> page = itemQueryService.pageByPrice(null, 100).block();
+
+        assertEquals(10, page.content().size());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    public void pageSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> itemQueryService.pageByPrice(null, 0));
+    }
+
+    @Test
+    public void pricesBelowStreamsProjection() {
+        StepVerifier.create(itemQueryService.pricesBelow(20.0))
+                .expectNextCount(10)
+                .verifyComplete();
+    }
+
+    @Test
+    public void streamLeavesCallersQueryUntouched() {
+        Query query = new Query(Criteria.where("price").lt(20.0));
+
+        StepVerifier.create(readQueries.stream(Item.class, ItemPrice.class, query))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        assertNull(query.getMeta().getCursorBatchSize());
+    }
+}